@@ -0,0 +1,57 @@
+package com.smartbear.readyapi4j;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.annotation.JsonTypeIdResolver;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.smartbear.readyapi4j.client.model.*;
+
+/**
+ * Jackson module with the type information needed to read JSON recipes into the polymorphic TestStep, Assertion and
+ * DataGenerator models
+ */
+
+public class RecipeModule extends SimpleModule {
+
+    public RecipeModule() {
+        super("ReadyAPI4jRecipeModule");
+        setMixInAnnotation(TestStep.class, TestStepMixin.class);
+        setMixInAnnotation(DataGenerator.class, DataGeneratorTypeMixin.class);
+        setMixInAnnotation(Assertion.class, AssertionMixin.class);
+    }
+
+    @JsonTypeIdResolver(TestStepTypeResolver.class)
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CUSTOM, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "type", visible = true)
+    private static class TestStepMixin {
+    }
+
+    @JsonTypeIdResolver(AssertionTypeResolver.class)
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CUSTOM, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "type", visible = true)
+    private static class AssertionMixin {
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "type", visible = true)
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = BooleanDataGenerator.class, name = "Boolean"),
+            @JsonSubTypes.Type(value = ComputerAddressDataGenerator.class, name = "Computer Address"),
+            @JsonSubTypes.Type(value = NameDataGenerator.class, name = "Name"),
+            @JsonSubTypes.Type(value = CustomStringDataGenerator.class, name = "Custom String"),
+            @JsonSubTypes.Type(value = StringDataGenerator.class, name = "String"),
+            @JsonSubTypes.Type(value = PhoneNumberDataGenerator.class, name = "Phone Number"),
+            @JsonSubTypes.Type(value = StateNameDataGenerator.class, name = "State"),
+            @JsonSubTypes.Type(value = UKPostCodeDataGenerator.class, name = "United Kingdom Postcode"),
+            @JsonSubTypes.Type(value = USZIPCodeDataGenerator.class, name = "United States ZIP Code"),
+            @JsonSubTypes.Type(value = IntegerDataGenerator.class, name = "Integer"),
+            @JsonSubTypes.Type(value = RealNumberDataGenerator.class, name = "Real"),
+            @JsonSubTypes.Type(value = ValuesFromSetDataGenerator.class, name = "Value from Set"),
+            @JsonSubTypes.Type(value = DateAndTimeDataGenerator.class, name = "Date and Time"),
+            @JsonSubTypes.Type(value = DataGenerator.class, name = "City"),
+            @JsonSubTypes.Type(value = DataGenerator.class, name = "Country"),
+            @JsonSubTypes.Type(value = DataGenerator.class, name = "Street Address"),
+            @JsonSubTypes.Type(value = DataGenerator.class, name = "E-Mail"),
+            @JsonSubTypes.Type(value = DataGenerator.class, name = "Guid"),
+            @JsonSubTypes.Type(value = DataGenerator.class, name = "Social Security Number")
+    })
+    private static class DataGeneratorTypeMixin {
+    }
+}
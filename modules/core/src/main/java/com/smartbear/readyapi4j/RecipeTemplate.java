@@ -0,0 +1,249 @@
+package com.smartbear.readyapi4j;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.smartbear.readyapi4j.client.model.TestCase;
+import com.smartbear.readyapi4j.client.model.TestStep;
+import com.smartbear.readyapi4j.extractor.ExtractorData;
+import com.smartbear.readyapi4j.support.ObjectMapperRegistry;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled TestRecipe with named slots, for creating many recipes that only differ in a few values. Slots are put in
+ * the values of TestSteps and TestCase properties with {@link #slot(String)}, for example
+ * <code>GET("http://example.com/users/" + slot("userId"))</code>, and the template is compiled with
+ * {@link TestRecipeBuilder#buildTemplate()} or {@link #compile(TestRecipe)}.
+ * <p>
+ * Instantiating a template is copy-on-write: TestSteps without slots are created once and shared by all recipes
+ * created from the template, only TestSteps with slots are created for each recipe. Shared TestSteps must therefore
+ * not be modified, neither directly nor by RecipeFilters. Recipes with extractors get their own ExtractorData, so they
+ * can be executed at the same time.
+ */
+
+public final class RecipeTemplate {
+    private static final Pattern SLOT_NAME_PATTERN = Pattern.compile("[\\w.\\-]+");
+    private static final Pattern SLOT_PATTERN = Pattern.compile("\\{\\{(#?[\\w.\\-]+)}}");
+    private static final String EXTRACTOR_DATA_ID_SLOT = "#extractorDataId";
+    private static final ObjectReader TEST_STEP_READER = ObjectMapperRegistry.recipeReader().forType(TestStep.class);
+
+    private final ObjectNode testCaseNode;
+    private final List<StepTemplate> stepTemplates = new ArrayList<>();
+    private final Set<JsonNode> nodesWithSlots = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<String> slotNames = new TreeSet<>();
+    private final ExtractorData extractorData;
+    private final boolean usesExtractorData;
+
+    private RecipeTemplate(ObjectNode testCaseNode, ArrayNode testStepNodes, ExtractorData extractorData)
+            throws IOException {
+        this.testCaseNode = testCaseNode;
+        this.extractorData = extractorData;
+        collectSlots(testCaseNode);
+        for (JsonNode testStepNode : testStepNodes) {
+            if (collectSlots(testStepNode)) {
+                stepTemplates.add(new StepTemplate(null, testStepNode));
+            } else {
+                stepTemplates.add(new StepTemplate(TEST_STEP_READER.readValue(testStepNode), null));
+            }
+        }
+        usesExtractorData = slotNames.remove(EXTRACTOR_DATA_ID_SLOT);
+    }
+
+    /**
+     * @param name the name of the slot, consisting of letters, digits, '_', '.' and '-'
+     * @return a placeholder for the slot, to be used in values of the TestSteps and properties of a template
+     */
+
+    public static String slot(String name) {
+        if (name == null || !SLOT_NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid slot name: " + name);
+        }
+        return "{{" + name + "}}";
+    }
+
+    /**
+     * Compiles the specified recipe into a template. The recipe is not referenced by the template, so it can be modified
+     * or reused afterwards.
+     *
+     * @param testRecipe a recipe with slots
+     * @return the compiled template
+     */
+
+    public static RecipeTemplate compile(TestRecipe testRecipe) {
+        ExtractorData extractorData = testRecipe.getExtractorData();
+        try {
+            String json = markExtractorDataId(testRecipe.toString(), extractorData);
+            ObjectNode testCaseNode = (ObjectNode) ObjectMapperRegistry.recipeReader().readTree(json);
+            JsonNode testStepNodes = testCaseNode.remove("testSteps");
+
+            // the recipe writer leaves out empty properties, like the ones extracted values are transferred to
+            Map<String, String> properties = testRecipe.getTestCase().getProperties();
+            if (properties != null && !properties.isEmpty()) {
+                ObjectNode propertiesNode = testCaseNode.putObject("properties");
+                properties.forEach((name, value) -> propertiesNode.put(markExtractorDataId(name, extractorData),
+                        value == null ? null : markExtractorDataId(value, extractorData)));
+            }
+            return new RecipeTemplate(testCaseNode,
+                    testStepNodes instanceof ArrayNode ? (ArrayNode) testStepNodes : JsonNodeFactory.instance.arrayNode(),
+                    extractorData);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to compile recipe template", e);
+        }
+    }
+
+    private static String markExtractorDataId(String text, ExtractorData extractorData) {
+        return extractorData == null ? text :
+                text.replace(extractorData.getExtractorDataId(), "{{" + EXTRACTOR_DATA_ID_SLOT + "}}");
+    }
+
+    /**
+     * @return the names of all slots in this template
+     */
+
+    public Set<String> getSlotNames() {
+        return Collections.unmodifiableSet(slotNames);
+    }
+
+    /**
+     * Creates a recipe with the specified values in the slots of this template
+     *
+     * @param values the values of all slots of this template, by slot name; values for unknown slots are ignored
+     * @return a new recipe, which shares the TestSteps without slots with the other recipes created from this template
+     */
+
+    public TestRecipe instantiate(Map<String, String> values) {
+        Set<String> missingSlots = new TreeSet<>();
+        for (String slotName : slotNames) {
+            if (values.get(slotName) == null) {
+                missingSlots.add(slotName);
+            }
+        }
+        if (!missingSlots.isEmpty()) {
+            throw new IllegalArgumentException("Missing values for slots " + missingSlots);
+        }
+
+        ExtractorData recipeExtractorData = extractorData;
+        Map<String, String> slotValues = values;
+        if (usesExtractorData) {
+            recipeExtractorData = extractorData.copyWithNewId();
+            slotValues = new HashMap<>(values);
+            slotValues.put(EXTRACTOR_DATA_ID_SLOT, recipeExtractorData.getExtractorDataId());
+        }
+
+        try {
+            TestCase testCase = ObjectMapperRegistry.recipeReader().readValue(fill(testCaseNode, slotValues));
+            List<TestStep> testSteps = new ArrayList<>(stepTemplates.size());
+            for (StepTemplate stepTemplate : stepTemplates) {
+                testSteps.add(stepTemplate.sharedStep != null ? stepTemplate.sharedStep :
+                        TEST_STEP_READER.readValue(fill(stepTemplate.node, slotValues)));
+            }
+            testCase.setTestSteps(testSteps);
+            return new TestRecipe(testCase, recipeExtractorData);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to instantiate recipe template", e);
+        }
+    }
+
+    /**
+     * Remembers the slots in the specified node and marks it and all its ancestors containing slots
+     *
+     * @return true if the node contains any slots
+     */
+    private boolean collectSlots(JsonNode node) {
+        if (node.isTextual()) {
+            return collectSlots(node.textValue());
+        }
+        boolean hasSlots = false;
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                hasSlots |= collectSlots(field.getKey());
+                hasSlots |= collectSlots(field.getValue());
+            }
+        } else {
+            for (JsonNode element : node) {
+                hasSlots |= collectSlots(element);
+            }
+        }
+        if (hasSlots) {
+            nodesWithSlots.add(node);
+        }
+        return hasSlots;
+    }
+
+    private boolean collectSlots(String text) {
+        Matcher matcher = SLOT_PATTERN.matcher(text);
+        boolean hasSlots = false;
+        while (matcher.find()) {
+            slotNames.add(matcher.group(1));
+            hasSlots = true;
+        }
+        return hasSlots;
+    }
+
+    /**
+     * @return a copy of the specified node with the values filled in, sharing all parts of it that contain no slots
+     */
+    private JsonNode fill(JsonNode node, Map<String, String> values) {
+        if (node.isTextual()) {
+            String text = fill(node.textValue(), values);
+            return text == node.textValue() ? node : TextNode.valueOf(text);
+        }
+        if (!nodesWithSlots.contains(node)) {
+            return node;
+        }
+        if (node.isObject()) {
+            ObjectNode copy = JsonNodeFactory.instance.objectNode();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                copy.set(fill(field.getKey(), values), fill(field.getValue(), values));
+            }
+            return copy;
+        }
+        ArrayNode copy = JsonNodeFactory.instance.arrayNode();
+        for (JsonNode element : node) {
+            copy.add(fill(element, values));
+        }
+        return copy;
+    }
+
+    private static String fill(String text, Map<String, String> values) {
+        Matcher matcher = SLOT_PATTERN.matcher(text);
+        if (!matcher.find()) {
+            return text;
+        }
+        StringBuffer result = new StringBuffer();
+        do {
+            matcher.appendReplacement(result, Matcher.quoteReplacement(values.get(matcher.group(1))));
+        } while (matcher.find());
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private static class StepTemplate {
+        private final TestStep sharedStep;
+        private final JsonNode node;
+
+        private StepTemplate(TestStep sharedStep, JsonNode node) {
+            this.sharedStep = sharedStep;
+            this.node = node;
+        }
+    }
+}
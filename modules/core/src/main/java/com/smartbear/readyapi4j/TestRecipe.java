@@ -1,10 +1,15 @@
 package com.smartbear.readyapi4j;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.smartbear.readyapi4j.client.model.TestCase;
+import com.smartbear.readyapi4j.execution.RecipeFilter;
 import com.smartbear.readyapi4j.extractor.ExtractorData;
+import com.smartbear.readyapi4j.support.ObjectMapperRegistry;
+
+import java.io.UncheckedIOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Wrapper for a test recipe, which can either be read locally by the SoapUI core or converted to JSON and submitted
@@ -35,16 +40,36 @@ public class TestRecipe {
         return extractorData;
     }
 
-    @Override
-    public String toString() {
-        try {
-            ObjectMapper objectMapper = new ObjectMapper();
+    /**
+     * Applies the specified filters to this recipe in order
+     */
+    public void applyFilters(Iterable<RecipeFilter> recipeFilters) {
+        for (RecipeFilter recipeFilter : recipeFilters) {
+            recipeFilter.filterRecipe(this);
+        }
+    }
 
-            objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-            objectMapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
-            return objectMapper.writeValueAsString(testCase);
+    /**
+     * @return the JSON recipe as UTF-8 encoded bytes
+     */
+    public byte[] toJsonBytes() {
+        return toJsonBytes(ObjectMapperRegistry.recipeWriter());
+    }
+
+    /**
+     * @param writer the writer to serialize the TestCase with
+     * @return the current TestCase serialized by the specified writer
+     */
+    public byte[] toJsonBytes(ObjectWriter writer) {
+        try {
+            return writer.writeValueAsBytes(testCase);
         } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+            throw new UncheckedIOException(e);
         }
     }
+
+    @Override
+    public String toString() {
+        return new String(toJsonBytes(), UTF_8);
+    }
 }
@@ -1,16 +1,11 @@
 package com.smartbear.readyapi4j;
 
-import com.fasterxml.jackson.annotation.JsonSubTypes;
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.annotation.JsonTypeIdResolver;
-import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 import com.smartbear.readyapi4j.client.model.*;
 import com.smartbear.readyapi4j.extractor.Extractor;
 import com.smartbear.readyapi4j.extractor.ExtractorData;
 import com.smartbear.readyapi4j.properties.PropertyBuilder;
+import com.smartbear.readyapi4j.support.ObjectMapperRegistry;
+import com.smartbear.readyapi4j.support.SerializationFormat;
 import com.smartbear.readyapi4j.teststeps.TestStepBuilder;
 import com.smartbear.readyapi4j.teststeps.propertytransfer.PropertyTransferBuilder;
 import com.smartbear.readyapi4j.teststeps.propertytransfer.PropertyTransferSourceBuilder;
@@ -19,7 +14,9 @@ import com.smartbear.readyapi4j.teststeps.propertytransfer.PropertyTransferTestS
 import com.smartbear.readyapi4j.teststeps.request.HttpRequestStepBuilder;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.*;
 
 import static com.smartbear.readyapi4j.properties.Properties.property;
@@ -30,7 +27,6 @@ import static com.smartbear.readyapi4j.properties.Properties.property;
 
 public class TestRecipeBuilder {
     private static final String TARGET_STEP = "#TestCase#";
-    private static ObjectMapper objectMapper;
     private List<TestStepBuilder> testStepBuilders = new LinkedList<>();
     private List<PropertyBuilder> propertyBuilders = new LinkedList<>();
     private final TestCase testCase;
@@ -49,10 +45,34 @@ public class TestRecipeBuilder {
      * @throws IOException if there was an error during deserialization
      */
     public static TestRecipe createFrom(String jsonText) throws IOException {
-        TestCase testCase = getObjectMapper().readValue(jsonText, TestCase.class);
+        TestCase testCase = ObjectMapperRegistry.recipeReader().readValue(jsonText);
         return new TestRecipe(testCase);
     }
 
+    /**
+     * Creates a TestRecipe object from an existing recipe encoded as JSON or Smile
+     *
+     * @param content the recipe, the encoding is detected from its first bytes
+     * @return the created TestRecipe
+     * @throws IOException if there was an error during deserialization
+     */
+    public static TestRecipe createFrom(byte[] content) throws IOException {
+        SerializationFormat format = SerializationFormat.detect(content);
+        TestCase testCase = ObjectMapperRegistry.recipeReader(format).readValue(content);
+        return new TestRecipe(testCase);
+    }
+
+    /**
+     * Creates a TestRecipe object from an existing recipe file encoded as JSON or Smile
+     *
+     * @param recipeFile the recipe file, the encoding is detected from its first bytes
+     * @return the created TestRecipe
+     * @throws IOException if the file couldn't be read or there was an error during deserialization
+     */
+    public static TestRecipe createFrom(File recipeFile) throws IOException {
+        return createFrom(Files.readAllBytes(recipeFile.toPath()));
+    }
+
     /**
      * Builds a recipe for the specified TestStep builders
      *
@@ -74,20 +94,6 @@ public class TestRecipeBuilder {
         return newTestRecipe(builders).named(name).buildTestRecipe();
     }
 
-    private static ObjectMapper getObjectMapper() {
-        if (objectMapper == null) {
-            objectMapper = new ObjectMapper()
-                    .addMixIn(TestStep.class, TestStepMixin.class)
-                    .addMixIn(DataGenerator.class, DataGeneratorTypeMixin.class)
-                    .addMixIn(Assertion.class, AssertionMixin.class)
-                    .registerModule(new ParameterNamesModule())
-                    .registerModule(new Jdk8Module())
-                    .registerModule(new JavaTimeModule());
-        }
-
-        return objectMapper;
-    }
-
     /**
      * Adds a TestStep to this TestRecipe
      *
@@ -159,6 +165,14 @@ public class TestRecipeBuilder {
         return new TestRecipe(testCase, extractorData);
     }
 
+    /**
+     * @return a RecipeTemplate compiled from the configured TestSteps and properties, which contain slots created with
+     * {@link RecipeTemplate#slot(String)}
+     */
+    public RecipeTemplate buildTemplate() {
+        return RecipeTemplate.compile(buildTestRecipe());
+    }
+
     private void addProperties() {
         Map<String, String> propertiesMap = new HashMap<>();
         propertyBuilders.forEach(propertyBuilder -> {
@@ -251,39 +265,4 @@ public class TestRecipeBuilder {
 
         return recipeBuilder;
     }
-
-    @JsonTypeIdResolver(TestStepTypeResolver.class)
-    @JsonTypeInfo(use = JsonTypeInfo.Id.CUSTOM, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "type", visible = true)
-    private static class TestStepMixin {
-    }
-
-    @JsonTypeIdResolver(AssertionTypeResolver.class)
-    @JsonTypeInfo(use = JsonTypeInfo.Id.CUSTOM, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "type", visible = true)
-    private static class AssertionMixin {
-    }
-
-    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "type", visible = true)
-    @JsonSubTypes({
-            @JsonSubTypes.Type(value = BooleanDataGenerator.class, name = "Boolean"),
-            @JsonSubTypes.Type(value = ComputerAddressDataGenerator.class, name = "Computer Address"),
-            @JsonSubTypes.Type(value = NameDataGenerator.class, name = "Name"),
-            @JsonSubTypes.Type(value = CustomStringDataGenerator.class, name = "Custom String"),
-            @JsonSubTypes.Type(value = StringDataGenerator.class, name = "String"),
-            @JsonSubTypes.Type(value = PhoneNumberDataGenerator.class, name = "Phone Number"),
-            @JsonSubTypes.Type(value = StateNameDataGenerator.class, name = "State"),
-            @JsonSubTypes.Type(value = UKPostCodeDataGenerator.class, name = "United Kingdom Postcode"),
-            @JsonSubTypes.Type(value = USZIPCodeDataGenerator.class, name = "United States ZIP Code"),
-            @JsonSubTypes.Type(value = IntegerDataGenerator.class, name = "Integer"),
-            @JsonSubTypes.Type(value = RealNumberDataGenerator.class, name = "Real"),
-            @JsonSubTypes.Type(value = ValuesFromSetDataGenerator.class, name = "Value from Set"),
-            @JsonSubTypes.Type(value = DateAndTimeDataGenerator.class, name = "Date and Time"),
-            @JsonSubTypes.Type(value = DataGenerator.class, name = "City"),
-            @JsonSubTypes.Type(value = DataGenerator.class, name = "Country"),
-            @JsonSubTypes.Type(value = DataGenerator.class, name = "Street Address"),
-            @JsonSubTypes.Type(value = DataGenerator.class, name = "E-Mail"),
-            @JsonSubTypes.Type(value = DataGenerator.class, name = "Guid"),
-            @JsonSubTypes.Type(value = DataGenerator.class, name = "Social Security Number")
-    })
-    private static class DataGeneratorTypeMixin {
-    }
 }
@@ -0,0 +1,200 @@
+package com.smartbear.readyapi4j.execution;
+
+import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.result.RecipeExecutionResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Handle for a batch of recipes submitted via RecipeExecutor#submitRecipes - aggregates the executions and
+ * results of all recipes in the batch as they complete.
+ */
+
+public class BatchExecution {
+    private final List<CompletableFuture<Execution>> submissionFutures;
+    private final List<CompletableFuture<Execution>> executionFutures;
+    private final CompletableFuture<Void> allDone;
+
+    private BatchExecution(List<CompletableFuture<Execution>> submissionFutures,
+                           List<CompletableFuture<Execution>> executionFutures) {
+        this.submissionFutures = submissionFutures;
+        this.executionFutures = Collections.unmodifiableList(executionFutures);
+        this.allDone = CompletableFuture.allOf(executionFutures.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Submits the specified recipes to the specified executor from a worker pool as configured by the specified options.
+     * Worker threads only submit recipes; an in-flight slot is released when the execution completes, so no thread
+     * is parked per running recipe.
+     *
+     * @param executor the executor to run each recipe with
+     * @param recipes  the recipes to run
+     * @param options  options for pool size and in-flight limit
+     * @return a handle for the running batch
+     */
+
+    public static BatchExecution submit(RecipeExecutor executor, Collection<TestRecipe> recipes, ConcurrencyOptions options) {
+        ExecutorService workerPool = options.getExecutorService() != null ? options.getExecutorService() :
+                Executors.newFixedThreadPool(options.getThreadCount());
+        Semaphore inFlight = new Semaphore(options.getMaxInFlight());
+
+        List<CompletableFuture<Execution>> submissions = new ArrayList<>(recipes.size());
+        List<CompletableFuture<Execution>> futures = new ArrayList<>(recipes.size());
+        for (TestRecipe recipe : recipes) {
+            CompletableFuture<Execution> submission = CompletableFuture.supplyAsync(() -> {
+                inFlight.acquireUninterruptibly();
+                try {
+                    return executor.submitRecipe(recipe);
+                } catch (RuntimeException e) {
+                    inFlight.release();
+                    throw e;
+                }
+            }, workerPool);
+            submissions.add(submission);
+            futures.add(submission.thenCompose(execution -> execution.completion()
+                    .whenComplete((result, throwable) -> inFlight.release())
+                    .thenApply(result -> execution)));
+        }
+
+        // already submitted tasks are still run; this only lets the pool threads die once the batch is done
+        if (options.getExecutorService() == null) {
+            workerPool.shutdown();
+        }
+
+        return new BatchExecution(submissions, futures);
+    }
+
+    /**
+     * @return the total number of recipes in this batch
+     */
+    public int getRecipeCount() {
+        return executionFutures.size();
+    }
+
+    /**
+     * @return the number of recipes that have finished executing, successfully or not
+     */
+    public int getCompletedCount() {
+        return (int) executionFutures.stream().filter(CompletableFuture::isDone).count();
+    }
+
+    /**
+     * @return true if all recipes in this batch have finished executing
+     */
+    public boolean isDone() {
+        return allDone.isDone();
+    }
+
+    /**
+     * Blocks until all recipes in this batch have finished executing
+     *
+     * @return this batch
+     */
+    public BatchExecution awaitCompletion() throws InterruptedException {
+        try {
+            allDone.get();
+        } catch (ExecutionException | CancellationException e) {
+            // individual failures are available via getErrors()
+        }
+        return this;
+    }
+
+    /**
+     * Blocks until all recipes in this batch have finished executing or the timeout expires
+     *
+     * @return true if all recipes finished within the specified time
+     */
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        try {
+            allDone.get(timeout, unit);
+        } catch (ExecutionException | CancellationException e) {
+            // individual failures are available via getErrors()
+        } catch (TimeoutException e) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return a future that completes when all recipes in this batch have finished executing
+     */
+    public CompletableFuture<Void> completion() {
+        return allDone.handle((result, throwable) -> null);
+    }
+
+    /**
+     * @return the executions for all recipes that have finished without errors so far, in submission order
+     */
+    public List<Execution> getExecutions() {
+        List<Execution> result = new ArrayList<>();
+        for (CompletableFuture<Execution> future : executionFutures) {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                result.add(future.join());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the execution results for all recipes that have finished without errors so far, in submission order
+     */
+    public List<RecipeExecutionResult> getExecutionResults() {
+        List<RecipeExecutionResult> result = new ArrayList<>();
+        for (Execution execution : getExecutions()) {
+            result.add(execution.getExecutionResult());
+        }
+        return result;
+    }
+
+    /**
+     * @return the executions that finished with a status other than FINISHED
+     */
+    public List<Execution> getFailedExecutions() {
+        List<Execution> result = new ArrayList<>();
+        for (Execution execution : getExecutions()) {
+            if (execution.getCurrentStatus() != TestJobReport.StatusEnum.FINISHED) {
+                result.add(execution);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the errors thrown by recipes that could not be executed at all
+     */
+    public List<Throwable> getErrors() {
+        List<Throwable> result = new ArrayList<>();
+        for (CompletableFuture<Execution> future : executionFutures) {
+            if (future.isCompletedExceptionally()) {
+                try {
+                    future.join();
+                } catch (CompletionException e) {
+                    result.add(e.getCause() != null ? e.getCause() : e);
+                } catch (CancellationException e) {
+                    result.add(e);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Cancels all recipes in this batch that have not yet been submitted for execution
+     */
+    public void cancel() {
+        submissionFutures.forEach(future -> future.cancel(false));
+    }
+}
@@ -0,0 +1,48 @@
+package com.smartbear.readyapi4j.execution;
+
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.result.RecipeExecutionResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fallback for {@link Execution#completion()} in Execution implementations that don't complete a future themselves:
+ * polls the status of the execution until it is no longer running.
+ */
+
+final class CompletionPoller {
+    static final long POLLING_INTERVAL = 500;
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Execution-completion-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private CompletionPoller() {
+    }
+
+    static CompletableFuture<RecipeExecutionResult> poll(Execution execution) {
+        CompletableFuture<RecipeExecutionResult> completion = new CompletableFuture<>();
+        checkStatus(execution, completion);
+        return completion;
+    }
+
+    private static void checkStatus(Execution execution, CompletableFuture<RecipeExecutionResult> completion) {
+        if (completion.isDone()) {
+            return;
+        }
+        try {
+            if (TestJobReport.StatusEnum.RUNNING.equals(execution.getCurrentStatus())) {
+                scheduler.schedule(() -> checkStatus(execution, completion), POLLING_INTERVAL, TimeUnit.MILLISECONDS);
+            } else {
+                completion.complete(execution.getExecutionResult());
+            }
+        } catch (RuntimeException e) {
+            completion.completeExceptionally(e);
+        }
+    }
+}
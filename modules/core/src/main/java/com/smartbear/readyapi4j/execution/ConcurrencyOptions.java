@@ -0,0 +1,95 @@
+package com.smartbear.readyapi4j.execution;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Options controlling how a batch of recipes submitted via RecipeExecutor#submitRecipes is executed
+ */
+
+public class ConcurrencyOptions {
+    public static final int DEFAULT_THREAD_COUNT = Runtime.getRuntime().availableProcessors();
+
+    private int threadCount = DEFAULT_THREAD_COUNT;
+    private int maxInFlight = DEFAULT_THREAD_COUNT;
+    private ExecutorService executorService;
+
+    private ConcurrencyOptions() {
+    }
+
+    /**
+     * @return the number of worker threads used when no ExecutorService has been specified
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * @return the maximum number of recipes that may be executing at the same time
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * @return the caller-supplied ExecutorService to run recipes on, null if a worker pool should be created
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * @return options with default thread count and in-flight limit
+     */
+    public static ConcurrencyOptions defaults() {
+        return new Builder().build();
+    }
+
+    public static class Builder {
+        private final ConcurrencyOptions options = new ConcurrencyOptions();
+
+        /**
+         * @param threadCount number of worker threads to create for the batch, must be positive
+         */
+        public Builder withThreadCount(int threadCount) {
+            if (threadCount < 1) {
+                throw new IllegalArgumentException("threadCount must be positive");
+            }
+            options.threadCount = threadCount;
+            return this;
+        }
+
+        /**
+         * @param maxInFlight maximum number of recipes executing at the same time, must be positive
+         */
+        public Builder withMaxInFlight(int maxInFlight) {
+            if (maxInFlight < 1) {
+                throw new IllegalArgumentException("maxInFlight must be positive");
+            }
+            options.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * @param executorService an existing ExecutorService to run recipes on; it will not be shut down
+         *                        when the batch completes
+         */
+        public Builder withExecutorService(ExecutorService executorService) {
+            options.executorService = executorService;
+            return this;
+        }
+
+        /**
+         * @return the configured ConcurrencyOptions
+         */
+        public ConcurrencyOptions build() {
+            return options;
+        }
+
+        /**
+         * @return a new builder limiting in-flight recipes to the specified number
+         */
+        public static Builder withMaxInFlightOf(int maxInFlight) {
+            return new Builder().withMaxInFlight(maxInFlight).withThreadCount(maxInFlight);
+        }
+    }
+}
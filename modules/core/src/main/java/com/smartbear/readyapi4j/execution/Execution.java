@@ -4,6 +4,7 @@ import com.smartbear.readyapi4j.client.model.TestJobReport;
 import com.smartbear.readyapi4j.result.RecipeExecutionResult;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents an execution, synchronous or asynchronous, and encapsulates all
@@ -45,4 +46,19 @@ public interface Execution {
      */
 
     void cancelExecution();
+
+    /**
+     * Gets a future that is completed with the final ExecutionResult once this execution has finished - or
+     * completed exceptionally if the outcome of the execution could not be determined. Synchronous executions
+     * return an already completed future.
+     * <p>
+     * The default implementation polls {@link #getCurrentStatus()} until the execution is no longer running and
+     * returns a new future on each call; implementations that know when they finish should override it.
+     *
+     * @return the future result of this execution
+     */
+
+    default CompletableFuture<RecipeExecutionResult> completion() {
+        return CompletionPoller.poll(this);
+    }
 }
@@ -1,5 +1,7 @@
 package com.smartbear.readyapi4j.execution;
 
+import com.smartbear.readyapi4j.result.TestStepResult;
+
 /**
  * Listener for events related to test execution
  */
@@ -31,4 +33,26 @@ public interface ExecutionListener {
 
     default void executionFinished(Execution execution) {
     }
+
+    /**
+     * Called before a TestStep is executed - this is only called for local executions since a TestEngine
+     * only reports TestSteps once they have finished
+     *
+     * @param execution    the running execution
+     * @param testStepName the name of the TestStep about to be executed
+     */
+
+    default void testStepStarted(Execution execution, String testStepName) {
+    }
+
+    /**
+     * Called each time a TestStep has finished, before the whole execution has finished. For executions on a
+     * TestEngine these are detected from successive status reports, so they may arrive in bursts.
+     *
+     * @param execution      the running execution
+     * @param testStepResult the result of the finished TestStep
+     */
+
+    default void testStepFinished(Execution execution, TestStepResult testStepResult) {
+    }
 }
@@ -0,0 +1,160 @@
+package com.smartbear.readyapi4j.execution;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe latency histogram with HDR-style log-linear buckets. Values below 2048 are counted exactly, larger values
+ * are counted in buckets of 1024 sub-buckets per power of two, which keeps the relative error of reported percentiles
+ * below 0.1% with a fixed memory footprint. Values are recorded in whatever unit the caller chooses; values above the
+ * highest trackable value are counted as the highest trackable value.
+ */
+
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 11;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+    private final long highestTrackableValue;
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalValue = new AtomicLong();
+    private final AtomicLong minValue = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * @param highestTrackableValue the highest value that can be recorded without being clamped
+     */
+    public LatencyHistogram(long highestTrackableValue) {
+        if (highestTrackableValue < 1) {
+            throw new IllegalArgumentException("highestTrackableValue must be positive");
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        counts = new AtomicLongArray(indexFor(highestTrackableValue) + 1);
+    }
+
+    /**
+     * Records a single value
+     *
+     * @param value the value to record, must not be negative
+     */
+    public void recordValue(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative values can't be recorded: " + value);
+        }
+        long trackedValue = Math.min(value, highestTrackableValue);
+        counts.incrementAndGet(indexFor(trackedValue));
+        totalCount.incrementAndGet();
+        totalValue.addAndGet(trackedValue);
+        minValue.accumulateAndGet(trackedValue, Math::min);
+        maxValue.accumulateAndGet(trackedValue, Math::max);
+    }
+
+    /**
+     * Records a value and corrects for coordinated omission: when the value is larger than the expected interval
+     * between two recordings, the values that samples which couldn't be taken in the meantime would have had are
+     * recorded as well.
+     *
+     * @param value            the value to record
+     * @param expectedInterval the expected interval between two recordings, in the same unit as value
+     */
+    public void recordValueWithExpectedInterval(long value, long expectedInterval) {
+        recordValue(value);
+        if (expectedInterval <= 0) {
+            return;
+        }
+        for (long missingValue = value - expectedInterval; missingValue >= expectedInterval;
+             missingValue -= expectedInterval) {
+            recordValue(missingValue);
+        }
+    }
+
+    /**
+     * Adds all values recorded by another histogram to this histogram
+     */
+    public void add(LatencyHistogram other) {
+        for (int index = 0; index < other.counts.length(); index++) {
+            long count = other.counts.get(index);
+            if (count > 0) {
+                long value = Math.min(highestEquivalentValue(index), highestTrackableValue);
+                counts.addAndGet(indexFor(value), count);
+            }
+        }
+        totalCount.addAndGet(other.getTotalCount());
+        totalValue.addAndGet(other.totalValue.get());
+        if (other.getTotalCount() > 0) {
+            minValue.accumulateAndGet(Math.min(other.getMinValue(), highestTrackableValue), Math::min);
+            maxValue.accumulateAndGet(Math.min(other.getMaxValue(), highestTrackableValue), Math::max);
+        }
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * @return the lowest recorded value, 0 if no values have been recorded
+     */
+    public long getMinValue() {
+        return getTotalCount() == 0 ? 0 : minValue.get();
+    }
+
+    /**
+     * @return the highest recorded value, 0 if no values have been recorded
+     */
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    /**
+     * @return the mean of all recorded values, 0 if no values have been recorded
+     */
+    public double getMean() {
+        long count = getTotalCount();
+        return count == 0 ? 0 : (double) totalValue.get() / count;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100
+     * @return the value at or below which the specified percentage of all recorded values lies, 0 if no values have
+     * been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+        }
+        long count = getTotalCount();
+        if (count == 0) {
+            return 0;
+        }
+        long targetCount = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long cumulativeCount = 0;
+        for (int index = 0; index < counts.length(); index++) {
+            cumulativeCount += counts.get(index);
+            if (cumulativeCount >= targetCount) {
+                return Math.min(highestEquivalentValue(index), getMaxValue());
+            }
+        }
+        return getMaxValue();
+    }
+
+    private static int indexFor(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (int) ((value >> shift) - SUB_BUCKET_HALF_COUNT);
+    }
+
+    private static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -2,6 +2,8 @@ package com.smartbear.readyapi4j.execution;
 
 import com.smartbear.readyapi4j.TestRecipe;
 
+import java.util.Collection;
+
 /**
  * Defines a class that can execute recipes
  */
@@ -24,6 +26,28 @@ public interface RecipeExecutor {
      */
     Execution executeRecipe(TestRecipe recipe);
 
+    /**
+     * Submits a batch of Test recipes for asynchronous execution on a worker pool, with at most
+     * <code>options.getMaxInFlight()</code> recipes executing at the same time.
+     *
+     * @param recipes Test recipes to be executed.
+     * @param options options for the worker pool and in-flight limit
+     * @return a <code>BatchExecution</code> that aggregates the executions of all recipes
+     */
+    default BatchExecution submitRecipes(Collection<TestRecipe> recipes, ConcurrencyOptions options) {
+        return BatchExecution.submit(this, recipes, options);
+    }
+
+    /**
+     * Submits a batch of Test recipes for asynchronous execution with default concurrency options.
+     *
+     * @param recipes Test recipes to be executed.
+     * @return a <code>BatchExecution</code> that aggregates the executions of all recipes
+     */
+    default BatchExecution submitRecipes(Collection<TestRecipe> recipes) {
+        return submitRecipes(recipes, ConcurrencyOptions.defaults());
+    }
+
     /**
      * @return List of all the execution stored on server
      */
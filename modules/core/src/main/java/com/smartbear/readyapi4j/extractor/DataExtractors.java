@@ -4,52 +4,54 @@ import com.smartbear.readyapi4j.client.model.TestCaseResultReport;
 import com.smartbear.readyapi4j.client.model.TestJobReport;
 import com.smartbear.readyapi4j.client.model.TestSuiteResultReport;
 
-import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Utility class to execute the data extractions after recipe execution.
  */
 public class DataExtractors {
     public static void runDataExtractors(TestJobReport executionStatus, List<ExtractorData> extractorDataList) {
-        List<String> extractorDataIdList = extractorDataList
-                .stream()
-                .map(ExtractorData::getExtractorDataId)
-                .collect(Collectors.toList());
-        Optional<TestCaseResultReport> resultReport = executionStatus
-                .getTestSuiteResultReports()
-                .stream()
-                .map(TestSuiteResultReport::getTestCaseResultReports)
-                .flatMap(Collection::stream)
-                .filter(testCaseResultReport ->
-                            testCaseResultReport.getProperties() != null &&
-                            extractorDataIdList.contains(testCaseResultReport.getProperties().get(ExtractorData.EXTRACTOR_DATA_KEY)))
-                .findAny();
+        Map<String, ExtractorData> extractorDataById = new HashMap<>();
+        for (ExtractorData extractorData : extractorDataList) {
+            extractorDataById.put(extractorData.getExtractorDataId(), extractorData);
+        }
+        runDataExtractors(executionStatus, extractorDataById);
+    }
 
-        resultReport.ifPresent(testCaseResultReport -> {
-            Map<String, String> properties = testCaseResultReport.getProperties();
-            runExtractorFunctions(extractorDataList, properties);
+    /**
+     * Runs the extractors of every TestCase in the report whose ExtractorData is in the map, looking it up by the id
+     * in the TestCase's properties
+     *
+     * @param extractorDataById ExtractorData keyed by ExtractorData.getExtractorDataId()
+     */
+    public static void runDataExtractors(TestJobReport executionStatus, Map<String, ExtractorData> extractorDataById) {
+        if (executionStatus.getTestSuiteResultReports() == null || extractorDataById.isEmpty()) {
+            return;
+        }
+        for (TestSuiteResultReport testSuiteResultReport : executionStatus.getTestSuiteResultReports()) {
+            for (TestCaseResultReport testCaseResultReport : testSuiteResultReport.getTestCaseResultReports()) {
+                Map<String, String> properties = testCaseResultReport.getProperties();
+                String extractorDataId = properties == null ? null : properties.get(ExtractorData.EXTRACTOR_DATA_KEY);
+                ExtractorData extractorData = extractorDataId == null ? null : extractorDataById.get(extractorDataId);
+                if (extractorData != null) {
+                    runExtractorFunctions(extractorData, properties);
 
-            // After run, remove all unnecessary properties
-            properties.entrySet().removeIf(entry -> entry.getKey().contains(properties.get(ExtractorData.EXTRACTOR_DATA_KEY)));
-            properties.remove(ExtractorData.EXTRACTOR_DATA_KEY);
-        });
+                    // After run, remove all unnecessary properties
+                    properties.entrySet().removeIf(entry -> entry.getKey().contains(extractorDataId));
+                    properties.remove(ExtractorData.EXTRACTOR_DATA_KEY);
+                }
+            }
+        }
     }
 
-
-    private static void runExtractorFunctions(List<ExtractorData> extractorDataList, Map<String, String> properties) {
-        Optional<ExtractorData> extractorData = extractorDataList
-                .stream()
-                .filter(ed -> ed.getExtractorDataId().equals(properties.get(ExtractorData.EXTRACTOR_DATA_KEY)))
-                .findAny();
-        extractorData.ifPresent(extractorData1 -> properties.forEach((key, value) -> {
-            ExtractorOperator operator = extractorData1.getExtractorOperator(key);
+    private static void runExtractorFunctions(ExtractorData extractorData, Map<String, String> properties) {
+        properties.forEach((key, value) -> {
+            ExtractorOperator operator = extractorData.getExtractorOperator(key);
             if (operator != null) {
                 operator.extractValue(value);
             }
-        }));
+        });
     }
 }
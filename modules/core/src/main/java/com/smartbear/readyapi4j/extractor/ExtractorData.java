@@ -55,4 +55,18 @@ public class ExtractorData {
     public ExtractorOperator getExtractorOperator(String extractorId) {
         return extractorOperatorMap.get(extractorId);
     }
+
+    /**
+     * Returns a copy of this ExtractorData with the same operators under a new ExtractorDataId, for a recipe that is
+     * otherwise equal to the one this ExtractorData belongs to.
+     *
+     * @return the copy, with ExtractorIds consisting of the same ExtractorValues and the new ExtractorDataId
+     */
+    public ExtractorData copyWithNewId() {
+        ExtractorData copy = new ExtractorData();
+        extractorOperatorMap.forEach((extractorId, operator) -> copy.extractorOperatorMap.put(
+                extractorId.substring(0, extractorId.length() - extractorDataId.length()) + copy.extractorDataId,
+                operator));
+        return copy;
+    }
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package com.smartbear.readyapi4j.support;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import io.swagger.util.Json;
 import io.swagger.util.Yaml;
 import org.slf4j.Logger;
@@ -43,7 +42,7 @@ public class ContentUtils {
             } else if (mediaTypeLowerCase.endsWith("yaml")) {
                 result = Yaml.mapper().writeValueAsString(content);
             } else if (mediaTypeLowerCase.endsWith("xml")) {
-                result = new XmlMapper().writeValueAsString(content);
+                result = ObjectMapperRegistry.xmlWriter().writeValueAsString(content);
             }
         } catch (JsonProcessingException e) {
             LOG.error("Failed to serialize body with mediaType " + mediaType, e);
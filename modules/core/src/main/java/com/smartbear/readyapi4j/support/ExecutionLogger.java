@@ -19,7 +19,8 @@ import java.util.Map;
 import static com.smartbear.readyapi4j.support.RecipeLogger.createFileName;
 
 /**
- * ExecutionListener that writes response HAR entries to a single log file after execution
+ * ExecutionListener that writes response HAR entries to a single log file after execution, as indented JSON or, if
+ * configured, as Smile
  */
 public class ExecutionLogger implements ExecutionListener {
 
@@ -29,16 +30,30 @@ public class ExecutionLogger implements ExecutionListener {
 
     private final String targetFolder;
     private final String extension;
+    private final SerializationFormat format;
 
     public ExecutionLogger(String targetFolder, String extension) {
+        this(targetFolder, extension, SerializationFormat.JSON);
+    }
+
+    public ExecutionLogger(String targetFolder, String extension, SerializationFormat format) {
         this.targetFolder = targetFolder;
         this.extension = extension;
+        this.format = format;
     }
 
     public ExecutionLogger(String targetFolder) {
         this(targetFolder, DEFAULT_EXTENSION);
     }
 
+    /**
+     * @param format the encoding of the written logs; Smile logs get the extension har.smile
+     */
+    public ExecutionLogger(String targetFolder, SerializationFormat format) {
+        this(targetFolder, format == SerializationFormat.JSON ? DEFAULT_EXTENSION :
+                DEFAULT_EXTENSION + "." + format.getExtension(), format);
+    }
+
     @Override
     public void executionFinished(Execution execution) {
         try {
@@ -62,7 +77,11 @@ public class ExecutionLogger implements ExecutionListener {
             }
 
             try (FileOutputStream fileOutputStream = new FileOutputStream(file)) {
-                fileOutputStream.write(JsonUtils.pretty(entries).getBytes());
+                if (format == SerializationFormat.JSON) {
+                    fileOutputStream.write(JsonUtils.pretty(entries).getBytes());
+                } else {
+                    JsonUtils.smile().writeValue(fileOutputStream, entries);
+                }
             }
         } catch (Exception e) {
             LOG.error("Failed to write response logs to file", e);
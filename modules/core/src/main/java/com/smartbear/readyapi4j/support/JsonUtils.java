@@ -5,23 +5,22 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 
 public class JsonUtils {
-    private static ObjectMapper mapper;
-    private static ObjectMapper pathMapper;
-    private static ObjectMapper responseMapper;
-
     public JsonUtils() {
     }
 
     public static ObjectMapper mapper() {
-        if (mapper == null) {
-            mapper = ObjectMapperFactory.createJson();
-        }
-
-        return mapper;
+        return MapperHolder.mapper;
     }
 
     public static ObjectWriter pretty() {
-        return mapper().writer(new DefaultPrettyPrinter());
+        return PrettyWriterHolder.prettyWriter;
+    }
+
+    /**
+     * @return a writer with the same configuration as {@link #mapper()} that writes Smile instead of JSON
+     */
+    public static ObjectWriter smile() {
+        return SmileWriterHolder.smileWriter;
     }
 
     public static String pretty(Object o) {
@@ -43,19 +42,32 @@ public class JsonUtils {
     }
 
     protected static ObjectMapper pathMapper() {
-        if (pathMapper == null) {
-            pathMapper = ObjectMapperFactory.createJson(false, true);
-        }
-
-        return pathMapper;
+        return PathMapperHolder.pathMapper;
     }
 
     protected static ObjectMapper responseMapper() {
-        if (responseMapper == null) {
-            responseMapper = ObjectMapperFactory.createJson(false, false);
-        }
+        return ResponseMapperHolder.responseMapper;
+    }
+
+    // the holder classes are initialized by the JVM on first use, which makes the lazy initialization thread-safe
+    private static class MapperHolder {
+        private static final ObjectMapper mapper = ObjectMapperFactory.createJson();
+    }
+
+    private static class PrettyWriterHolder {
+        private static final ObjectWriter prettyWriter = mapper().writer(new DefaultPrettyPrinter());
+    }
+
+    private static class SmileWriterHolder {
+        private static final ObjectWriter smileWriter = ObjectMapperFactory.createSmile().writer();
+    }
+
+    private static class PathMapperHolder {
+        private static final ObjectMapper pathMapper = ObjectMapperFactory.createJson(false, true);
+    }
 
-        return responseMapper;
+    private static class ResponseMapperHolder {
+        private static final ObjectMapper responseMapper = ObjectMapperFactory.createJson(false, false);
     }
 
 }
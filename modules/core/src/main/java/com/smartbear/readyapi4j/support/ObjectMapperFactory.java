@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.swagger.jackson.mixin.ResponseSchemaMixin;
 import io.swagger.models.Response;
@@ -32,6 +33,10 @@ public class ObjectMapperFactory {
         return create(new YAMLFactory(), includePathDeserializer, includeResponseDeserializer);
     }
 
+    protected static ObjectMapper createSmile() {
+        return create(new SmileFactory(), true, true);
+    }
+
     private static ObjectMapper create(JsonFactory jsonFactory, boolean includePathDeserializer, boolean includeResponseDeserializer) {
         ObjectMapper mapper = jsonFactory == null ? new ObjectMapper() : new ObjectMapper(jsonFactory);
         Module deserializerModule = new DeserializationModule(includePathDeserializer, includeResponseDeserializer);
@@ -0,0 +1,159 @@
+package com.smartbear.readyapi4j.support;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.joda.JodaModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.smartbear.readyapi4j.RecipeModule;
+import com.smartbear.readyapi4j.client.model.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Central registry of pre-configured Jackson mappers. The mappers themselves are never handed out, only immutable and
+ * thread-safe ObjectReaders and ObjectWriters, so they are configured once and their serializer and deserializer
+ * caches are shared by all callers.
+ * <p>
+ * If jackson-module-afterburner is on the classpath it is registered with all JSON mappers, unless the
+ * readyapi4j.jackson.afterburner system property is set to false.
+ */
+
+public final class ObjectMapperRegistry {
+    private static final Logger LOG = LoggerFactory.getLogger(ObjectMapperRegistry.class);
+
+    private static final String AFTERBURNER_PROPERTY = "readyapi4j.jackson.afterburner";
+    private static final String AFTERBURNER_MODULE = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+
+    private static final ObjectMapper recipeMapper = createRecipeMapper(new JsonFactory());
+    private static final ObjectReader recipeReader = recipeMapper.readerFor(TestCase.class);
+    private static final ObjectWriter recipeWriter = createRecipeWriterMapper(new JsonFactory()).writer();
+    private static final ObjectReader smileRecipeReader = createRecipeMapper(new SmileFactory()).readerFor(TestCase.class);
+    private static final ObjectWriter smileRecipeWriter = createRecipeWriterMapper(new SmileFactory()).writer();
+    private static final ObjectMapper testEngineMapper = createTestEngineMapper();
+    private static final ObjectWriter testEngineRequestWriter = createTestEngineRequestMapper().writer();
+    private static final ObjectWriter xmlWriter = new XmlMapper().writer();
+    private static final Map<Type, ObjectReader> testEngineReaders = new ConcurrentHashMap<>();
+
+    private ObjectMapperRegistry() {
+    }
+
+    /**
+     * @return a reader for JSON recipes, which resolves the concrete TestStep, Assertion and DataGenerator types
+     */
+    public static ObjectReader recipeReader() {
+        return recipeReader;
+    }
+
+    /**
+     * @return a writer for recipes, which leaves out empty values
+     */
+    public static ObjectWriter recipeWriter() {
+        return recipeWriter;
+    }
+
+    /**
+     * @param format the encoding of the recipes
+     * @return a reader for recipes in the specified encoding, configured like {@link #recipeReader()}
+     */
+    public static ObjectReader recipeReader(SerializationFormat format) {
+        return format == SerializationFormat.SMILE ? smileRecipeReader : recipeReader;
+    }
+
+    /**
+     * @param format the encoding of the recipes
+     * @return a writer for recipes in the specified encoding, configured like {@link #recipeWriter()}
+     */
+    public static ObjectWriter recipeWriter(SerializationFormat format) {
+        return format == SerializationFormat.SMILE ? smileRecipeWriter : recipeWriter;
+    }
+
+    /**
+     * @param type the type of the response model
+     * @return a reader for TestEngine API responses, which ignores unknown properties
+     */
+    public static ObjectReader testEngineReader(Type type) {
+        return testEngineReaders.computeIfAbsent(type, t -> testEngineMapper.readerFor(testEngineMapper.constructType(t)));
+    }
+
+    /**
+     * @return a writer for TestEngine API request bodies, which serializes fields and leaves out empty values
+     */
+    public static ObjectWriter testEngineRequestWriter() {
+        return testEngineRequestWriter;
+    }
+
+    /**
+     * @return a new mapper with the same configuration as the one used for TestEngine API responses
+     */
+    public static ObjectMapper copyTestEngineMapper() {
+        return testEngineMapper.copy();
+    }
+
+    /**
+     * @return a writer for XML content
+     */
+    public static ObjectWriter xmlWriter() {
+        return xmlWriter;
+    }
+
+    private static ObjectMapper createRecipeMapper(JsonFactory jsonFactory) {
+        return registerAfterburner(new ObjectMapper(jsonFactory)
+                .registerModule(new RecipeModule())
+                .registerModule(new ParameterNamesModule())
+                .registerModule(new Jdk8Module())
+                .registerModule(new JavaTimeModule()));
+    }
+
+    private static ObjectMapper createRecipeWriterMapper(JsonFactory jsonFactory) {
+        return registerAfterburner(new ObjectMapper(jsonFactory)
+                .setSerializationInclusion(JsonInclude.Include.NON_EMPTY));
+    }
+
+    private static ObjectMapper createTestEngineMapper() {
+        return registerAfterburner(new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .registerModule(new JodaModule()));
+    }
+
+    private static ObjectMapper createTestEngineRequestMapper() {
+        ObjectMapper mapper = createTestEngineMapper()
+                .setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+        mapper.setVisibility(mapper.getSerializationConfig().getDefaultVisibilityChecker()
+                .withFieldVisibility(JsonAutoDetect.Visibility.ANY)
+                .withGetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withSetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withCreatorVisibility(JsonAutoDetect.Visibility.NONE));
+        return mapper;
+    }
+
+    private static ObjectMapper registerAfterburner(ObjectMapper mapper) {
+        if (!Boolean.parseBoolean(System.getProperty(AFTERBURNER_PROPERTY, "true"))) {
+            return mapper;
+        }
+        try {
+            Class<?> moduleClass = Class.forName(AFTERBURNER_MODULE);
+            return mapper.registerModule((Module) moduleClass.getDeclaredConstructor().newInstance());
+        } catch (ClassNotFoundException e) {
+            return mapper;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            LOG.warn("Failed to register " + AFTERBURNER_MODULE, e);
+            return mapper;
+        }
+    }
+}
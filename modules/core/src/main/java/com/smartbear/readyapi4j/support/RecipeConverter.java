@@ -0,0 +1,130 @@
+package com.smartbear.readyapi4j.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.TestRecipeBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Converts recipe files between JSON and Smile, for example to turn a corpus of JSON recipes into Smile recipes that
+ * load faster. Run it with the target format followed by recipe files or directories containing recipe files:
+ * <pre>
+ * java -cp ... com.smartbear.readyapi4j.support.RecipeConverter smile recipes/
+ * </pre>
+ * Each converted recipe is written next to the original, named like it but with the extension of the target format.
+ * Files that have the extension of a format but aren't recipes, like other JSON files, are skipped and listed.
+ */
+
+public class RecipeConverter {
+    private static final Logger LOG = LoggerFactory.getLogger(RecipeConverter.class);
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: RecipeConverter <json|smile> <recipe file or directory>...");
+            System.exit(1);
+        }
+
+        SerializationFormat format = SerializationFormat.valueOf(args[0].toUpperCase(Locale.ROOT));
+        int count = 0;
+        List<File> skippedFiles = new ArrayList<>();
+        for (int c = 1; c < args.length; c++) {
+            count += convertAll(new File(args[c]), format, skippedFiles);
+        }
+        System.out.println("Converted " + count + " recipes to " + format);
+        for (File skippedFile : skippedFiles) {
+            System.err.println("Skipped " + skippedFile + ", which isn't a recipe");
+        }
+    }
+
+    /**
+     * Converts the specified recipe file, or all recipe files in the specified directory and its subdirectories,
+     * that aren't in the specified format yet, logging the files that are skipped because they aren't recipes
+     *
+     * @return the number of converted recipes
+     */
+    public static int convertAll(File fileOrDirectory, SerializationFormat format) throws IOException {
+        return convertAll(fileOrDirectory, format, new ArrayList<>());
+    }
+
+    /**
+     * Converts the specified recipe file, or all recipe files in the specified directory and its subdirectories,
+     * that aren't in the specified format yet. Files with the extension of any SerializationFormat are read as
+     * recipes; those that can't be parsed or have no TestSteps aren't recipes and are skipped, so that one unrelated
+     * file doesn't abort the conversion of the others.
+     *
+     * @param skippedFiles the list to add the skipped files to
+     * @return the number of converted recipes
+     */
+    public static int convertAll(File fileOrDirectory, SerializationFormat format, List<File> skippedFiles)
+            throws IOException {
+        if (fileOrDirectory.isDirectory()) {
+            File[] files = fileOrDirectory.listFiles();
+            if (files == null) {
+                return 0;
+            }
+            Arrays.sort(files);
+            int count = 0;
+            for (File file : files) {
+                count += convertAll(file, format, skippedFiles);
+            }
+            return count;
+        }
+
+        SerializationFormat currentFormat = getFormat(fileOrDirectory);
+        if (currentFormat == null || currentFormat == format) {
+            return 0;
+        }
+        TestRecipe testRecipe;
+        try {
+            testRecipe = TestRecipeBuilder.createFrom(fileOrDirectory);
+        } catch (JsonProcessingException e) {
+            LOG.warn("Skipping " + fileOrDirectory + ", which can't be parsed as a recipe: " + e.getOriginalMessage());
+            skippedFiles.add(fileOrDirectory);
+            return 0;
+        }
+        // the recipe reader ignores unknown properties, so any JSON object can be read as an empty TestCase
+        if (testRecipe.getTestCase().getTestSteps() == null || testRecipe.getTestCase().getTestSteps().isEmpty()) {
+            LOG.warn("Skipping " + fileOrDirectory + ", which has no TestSteps");
+            skippedFiles.add(fileOrDirectory);
+            return 0;
+        }
+        write(testRecipe, fileOrDirectory, format);
+        return 1;
+    }
+
+    /**
+     * @param recipeFile a JSON or Smile recipe
+     * @param format     the format to convert the recipe to
+     * @return the converted recipe file, named like the recipe file but with the extension of the format
+     */
+    public static File convert(File recipeFile, SerializationFormat format) throws IOException {
+        return write(TestRecipeBuilder.createFrom(recipeFile), recipeFile, format);
+    }
+
+    private static File write(TestRecipe testRecipe, File recipeFile, SerializationFormat format) throws IOException {
+        String name = recipeFile.getName();
+        int extensionIndex = name.lastIndexOf('.');
+        String baseName = extensionIndex > 0 ? name.substring(0, extensionIndex) : name;
+        File convertedFile = new File(recipeFile.getAbsoluteFile().getParentFile(), baseName + "." + format.getExtension());
+
+        ObjectMapperRegistry.recipeWriter(format).writeValue(convertedFile, testRecipe.getTestCase());
+        return convertedFile;
+    }
+
+    private static SerializationFormat getFormat(File file) {
+        for (SerializationFormat format : SerializationFormat.values()) {
+            if (file.getName().endsWith("." + format.getExtension())) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -1,18 +1,17 @@
 package com.smartbear.readyapi4j.support;
 
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.smartbear.readyapi4j.TestRecipe;
 import com.smartbear.readyapi4j.execution.RecipeFilter;
-import io.swagger.util.Json;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.IOException;
 
 /**
- * RecipeFilter that writes all recipes as files to the specified folder
+ * RecipeFilter that writes all recipes as files to the specified folder, as indented JSON or, if configured, as Smile
  */
 public class RecipeLogger implements RecipeFilter {
 
@@ -24,17 +23,30 @@ public class RecipeLogger implements RecipeFilter {
     private final String targetFolder;
     private final String prefix;
     private final String extension;
+    private final SerializationFormat format;
 
     public RecipeLogger(String targetFolder, String prefix, String extension) {
+        this(targetFolder, prefix, extension, SerializationFormat.JSON);
+    }
+
+    public RecipeLogger(String targetFolder, String prefix, String extension, SerializationFormat format) {
         this.targetFolder = targetFolder;
         this.prefix = prefix;
         this.extension = extension;
+        this.format = format;
     }
 
     public RecipeLogger(String targetFolder) {
         this(targetFolder, DEFAULT_PREFIX, DEFAULT_EXTENSION);
     }
 
+    /**
+     * @param format the encoding of the written recipes, which also determines their file extension
+     */
+    public RecipeLogger(String targetFolder, SerializationFormat format) {
+        this(targetFolder, DEFAULT_PREFIX, format.getExtension(), format);
+    }
+
     @Override
     public void filterRecipe(TestRecipe testRecipe) {
         try {
@@ -51,21 +63,17 @@ public class RecipeLogger implements RecipeFilter {
                 file = File.createTempFile(prefix, "." + extension, directory);
             }
             try (FileOutputStream fileOutputStream = new FileOutputStream(file)) {
-                fileOutputStream.write(prettyPrintRecipe(testRecipe).getBytes());
+                ObjectWriter writer = ObjectMapperRegistry.recipeWriter(format);
+                if (format == SerializationFormat.JSON) {
+                    writer = writer.withDefaultPrettyPrinter();
+                }
+                writer.writeValue(fileOutputStream, testRecipe.getTestCase());
             }
         } catch (Exception e) {
             LOG.error("Failed to write recipe to file", e);
         }
     }
 
-    private String prettyPrintRecipe(TestRecipe testRecipe) {
-        try {
-            return Json.pretty(Json.mapper().readTree(testRecipe.toString()));
-        } catch (IOException e) {
-            return testRecipe.toString();
-        }
-    }
-
     public static String createFileName(String str, char whitespaceChar) {
         return str.replaceAll("\\s", String.valueOf(whitespaceChar));
     }
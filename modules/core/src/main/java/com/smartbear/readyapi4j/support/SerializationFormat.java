@@ -0,0 +1,43 @@
+package com.smartbear.readyapi4j.support;
+
+/**
+ * Encodings of the recipes and execution logs written and read by readyapi4j. JSON is the default; Smile is a binary
+ * encoding of the same data that is smaller and considerably faster to read and write, for large recipe corpora and
+ * logs that are processed by tools rather than read by people.
+ */
+
+public enum SerializationFormat {
+    JSON("json"),
+    SMILE("smile");
+
+    private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+
+    private final String extension;
+
+    SerializationFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * @return the file extension of this format, without the dot
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @param content serialized content
+     * @return SMILE if the content starts with the Smile header, JSON otherwise
+     */
+    public static SerializationFormat detect(byte[] content) {
+        if (content.length < SMILE_HEADER.length) {
+            return JSON;
+        }
+        for (int c = 0; c < SMILE_HEADER.length; c++) {
+            if (content[c] != SMILE_HEADER[c]) {
+                return JSON;
+            }
+        }
+        return SMILE;
+    }
+}
@@ -0,0 +1,73 @@
+package com.smartbear.readyapi4j;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.smartbear.readyapi4j.client.model.RestTestRequestStep;
+import com.smartbear.readyapi4j.extractor.ExtractorData;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static com.smartbear.readyapi4j.RecipeTemplate.slot;
+import static com.smartbear.readyapi4j.TestRecipeBuilder.newTestRecipe;
+import static com.smartbear.readyapi4j.extractor.Extractors.fromProperty;
+import static com.smartbear.readyapi4j.teststeps.TestSteps.GET;
+import static com.smartbear.readyapi4j.teststeps.TestSteps.POST;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class RecipeTemplateTest {
+
+    private static final String URI = "http://localhost:8080/users";
+
+    @Test
+    public void fillsSlotsAndSharesStepsWithoutSlots() {
+        RecipeTemplate template = newTestRecipe(
+                GET(URI + "/" + slot("userId")).named("GetUser"),
+                POST(URI).named("CreateUser"))
+                .withProperty("tenant", slot("tenant"))
+                .buildTemplate();
+
+        TestRecipe first = template.instantiate(ImmutableMap.of("userId", "1", "tenant", "a"));
+        TestRecipe second = template.instantiate(ImmutableMap.of("userId", "2", "tenant", "b"));
+
+        assertThat(template.getSlotNames(), is(ImmutableSet.of("tenant", "userId")));
+        assertThat(getUri(first, 0), is(URI + "/1"));
+        assertThat(getUri(second, 0), is(URI + "/2"));
+        assertThat(second.getTestCase().getProperties().get("tenant"), is("b"));
+        assertThat(first.getTestCase().getTestSteps().get(1),
+                is(sameInstance(second.getTestCase().getTestSteps().get(1))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMissingSlotValues() {
+        newTestRecipe(GET(URI + "/" + slot("userId"))).buildTemplate().instantiate(Collections.emptyMap());
+    }
+
+    @Test
+    public void givesEachRecipeItsOwnExtractorData() {
+        RecipeTemplate template = newTestRecipe(
+                GET(URI + "/" + slot("userId"))
+                        .named("GetUser")
+                        .withExtractors(fromProperty("Endpoint", property -> {
+                        })))
+                .buildTemplate();
+
+        TestRecipe recipe = template.instantiate(ImmutableMap.of("userId", "1"));
+        TestRecipe otherRecipe = template.instantiate(ImmutableMap.of("userId", "2"));
+
+        ExtractorData extractorData = recipe.getExtractorData();
+        assertThat(extractorData.getExtractorDataId(), is(not(otherRecipe.getExtractorData().getExtractorDataId())));
+        assertThat(recipe.getTestCase().getProperties().get(ExtractorData.EXTRACTOR_DATA_KEY),
+                is(extractorData.getExtractorDataId()));
+        assertThat(extractorData.getExtractorOperator("Endpoint" + extractorData.getExtractorDataId()),
+                is(notNullValue()));
+    }
+
+    private static String getUri(TestRecipe recipe, int index) {
+        return ((RestTestRequestStep) recipe.getTestCase().getTestSteps().get(index)).getURI();
+    }
+}
@@ -1,6 +1,8 @@
 package com.smartbear.readyapi4j;
 
 import com.smartbear.readyapi4j.client.model.*;
+import com.smartbear.readyapi4j.support.ObjectMapperRegistry;
+import com.smartbear.readyapi4j.support.SerializationFormat;
 import com.smartbear.readyapi4j.teststeps.TestStepTypes;
 import com.smartbear.readyapi4j.teststeps.propertytransfer.PathLanguage;
 import org.junit.Test;
@@ -35,6 +37,31 @@ public class TestRecipeBuilderTest {
         assertThat(recipe.length(), not(0));
     }
 
+    @Test
+    public void createsRecipeFromDumpedRecipe() throws Exception {
+        TestRecipe recipe = newTestRecipe(GET(URI)
+                .addQueryParameter("sensor", "false")
+                .assertJsonContent("$.results[0].address_components[1].long_name", "Amphitheatre Parkway")
+        ).buildTestRecipe();
+
+        TestRecipe createdRecipe = TestRecipeBuilder.createFrom(recipe.toString());
+        assertThat(createdRecipe.getTestCase().getTestSteps().get(0) instanceof RestTestRequestStep, is(true));
+        assertThat(createdRecipe.toString(), is(recipe.toString()));
+    }
+
+    @Test
+    public void createsRecipeFromSmileRecipe() throws Exception {
+        TestRecipe recipe = newTestRecipe(GET(URI)
+                .addQueryParameter("sensor", "false")
+                .assertJsonContent("$.results[0].address_components[1].long_name", "Amphitheatre Parkway")
+        ).buildTestRecipe();
+
+        byte[] smileRecipe = recipe.toJsonBytes(ObjectMapperRegistry.recipeWriter(SerializationFormat.SMILE));
+
+        assertThat(SerializationFormat.detect(smileRecipe), is(SerializationFormat.SMILE));
+        assertThat(TestRecipeBuilder.createFrom(smileRecipe).toString(), is(recipe.toString()));
+    }
+
     @Test
     public void buildRecipeWithTestCaseProperty() {
         TestRecipe recipe = newTestRecipe().withProperty("test", "test").buildTestRecipe();
@@ -0,0 +1,38 @@
+package com.smartbear.readyapi4j;
+
+import com.smartbear.readyapi4j.support.ObjectMapperRegistry;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static com.smartbear.readyapi4j.TestRecipeBuilder.newTestRecipe;
+import static com.smartbear.readyapi4j.teststeps.TestSteps.GET;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertThat;
+
+public class TestRecipeTest {
+
+    private final TestRecipe recipe = newTestRecipe(GET("http://localhost:8080/users")).named("Users").buildTestRecipe();
+
+    @Test
+    public void serializesRecipeAfterFiltersWereApplied() {
+        assertThat(new String(recipe.toJsonBytes(ObjectMapperRegistry.testEngineRequestWriter()), UTF_8),
+                containsString("\"Users\""));
+
+        recipe.applyFilters(Collections.singletonList(testRecipe -> testRecipe.getTestCase().setName("Renamed")));
+
+        assertThat(new String(recipe.toJsonBytes(ObjectMapperRegistry.testEngineRequestWriter()), UTF_8),
+                containsString("\"Renamed\""));
+    }
+
+    @Test
+    public void printsCurrentTestCase() {
+        assertThat(recipe.toString(), containsString("\"Users\""));
+
+        recipe.getTestCase().setName("Renamed");
+
+        assertThat(recipe.toString(), containsString("\"Renamed\""));
+        assertThat(new String(recipe.toJsonBytes(), UTF_8), containsString("\"Renamed\""));
+    }
+}
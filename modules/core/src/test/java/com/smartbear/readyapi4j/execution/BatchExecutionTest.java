@@ -0,0 +1,114 @@
+package com.smartbear.readyapi4j.execution;
+
+import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.client.model.TestCase;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.result.RecipeExecutionResult;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BatchExecutionTest {
+
+    @Test
+    public void executesAllRecipesInBatch() throws Exception {
+        RecipeExecutor executor = mock(RecipeExecutor.class);
+        Execution execution = makeFinishedExecution();
+        when(executor.submitRecipe(any(TestRecipe.class))).thenReturn(execution);
+
+        BatchExecution batch = BatchExecution.submit(executor, makeRecipes(20),
+                ConcurrencyOptions.Builder.withMaxInFlightOf(4).build());
+
+        assertTrue(batch.awaitCompletion(10, TimeUnit.SECONDS));
+        assertThat(batch.getRecipeCount(), is(20));
+        assertThat(batch.getExecutions().size(), is(20));
+        assertThat(batch.getFailedExecutions().size(), is(0));
+        assertThat(batch.getErrors().size(), is(0));
+    }
+
+    @Test
+    public void limitsRecipesInFlight() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxObserved = new AtomicInteger();
+        RecipeExecutor executor = mock(RecipeExecutor.class);
+        when(executor.submitRecipe(any(TestRecipe.class))).thenAnswer(invocation -> {
+            maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Execution execution = mock(Execution.class);
+            when(execution.completion()).thenReturn(CompletableFuture.supplyAsync(() -> {
+                sleep(20);
+                inFlight.decrementAndGet();
+                return mock(RecipeExecutionResult.class);
+            }));
+            return execution;
+        });
+
+        BatchExecution batch = BatchExecution.submit(executor, makeRecipes(30),
+                new ConcurrencyOptions.Builder().withThreadCount(8).withMaxInFlight(3).build());
+
+        assertTrue(batch.awaitCompletion(10, TimeUnit.SECONDS));
+        assertTrue(maxObserved.get() <= 3);
+    }
+
+    @Test
+    public void collectsErrorsForFailedRecipes() throws Exception {
+        RecipeExecutor executor = mock(RecipeExecutor.class);
+        when(executor.submitRecipe(any(TestRecipe.class))).thenThrow(new RecipeExecutionException("boom"));
+
+        BatchExecution batch = BatchExecution.submit(executor, makeRecipes(3), ConcurrencyOptions.defaults());
+
+        batch.awaitCompletion();
+        assertThat(batch.getExecutions().size(), is(0));
+        assertThat(batch.getErrors().size(), is(3));
+    }
+
+    @Test
+    public void completesWhenExecutionsComplete() throws Exception {
+        RecipeExecutor executor = mock(RecipeExecutor.class);
+        CompletableFuture<RecipeExecutionResult> completion = new CompletableFuture<>();
+        Execution execution = mock(Execution.class);
+        when(execution.completion()).thenReturn(completion);
+        when(executor.submitRecipe(any(TestRecipe.class))).thenReturn(execution);
+
+        BatchExecution batch = BatchExecution.submit(executor, makeRecipes(2), ConcurrencyOptions.defaults());
+
+        assertFalse(batch.awaitCompletion(200, TimeUnit.MILLISECONDS));
+        completion.complete(mock(RecipeExecutionResult.class));
+        assertTrue(batch.awaitCompletion(10, TimeUnit.SECONDS));
+        assertThat(batch.getExecutions().size(), is(2));
+    }
+
+    private Execution makeFinishedExecution() {
+        Execution execution = mock(Execution.class);
+        when(execution.getCurrentStatus()).thenReturn(TestJobReport.StatusEnum.FINISHED);
+        when(execution.completion()).thenReturn(CompletableFuture.completedFuture(mock(RecipeExecutionResult.class)));
+        return execution;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<TestRecipe> makeRecipes(int count) {
+        List<TestRecipe> recipes = new ArrayList<>();
+        for (int c = 0; c < count; c++) {
+            recipes.add(new TestRecipe(new TestCase()));
+        }
+        return recipes;
+    }
+}
@@ -0,0 +1,72 @@
+package com.smartbear.readyapi4j.execution;
+
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.result.RecipeExecutionResult;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ExecutionTest {
+
+    @Test
+    public void defaultCompletionPollsUntilExecutionHasFinished() throws Exception {
+        RecipeExecutionResult result = mock(RecipeExecutionResult.class);
+        PlainExecution execution = new PlainExecution(result);
+
+        CompletableFuture<RecipeExecutionResult> completion = execution.completion();
+        assertFalse(completion.isDone());
+
+        execution.status = TestJobReport.StatusEnum.FINISHED;
+        assertThat(completion.get(10, TimeUnit.SECONDS), is(sameInstance(result)));
+    }
+
+    /**
+     * Execution implemented without overriding completion(), like Execution implementations outside readyapi4j
+     */
+    private static class PlainExecution implements Execution {
+        private final RecipeExecutionResult result;
+        private volatile TestJobReport.StatusEnum status = TestJobReport.StatusEnum.RUNNING;
+
+        PlainExecution(RecipeExecutionResult result) {
+            this.result = result;
+        }
+
+        @Override
+        public String getId() {
+            return "plain";
+        }
+
+        @Override
+        public TestJobReport.StatusEnum getCurrentStatus() {
+            return status;
+        }
+
+        @Override
+        public TestJobReport getCurrentReport() {
+            return null;
+        }
+
+        @Override
+        public RecipeExecutionResult getExecutionResult() {
+            return result;
+        }
+
+        @Override
+        public List<String> getErrorMessages() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void cancelExecution() {
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.smartbear.readyapi4j.execution;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void reportsExactPercentilesForSmallValues() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram(1000);
+        for (int value = 1; value <= 1000; value++) {
+            histogram.recordValue(value);
+        }
+
+        assertThat(histogram.getTotalCount(), is(1000L));
+        assertThat(histogram.getValueAtPercentile(50), is(500L));
+        assertThat(histogram.getValueAtPercentile(99.9), is(999L));
+        assertThat(histogram.getMinValue(), is(1L));
+        assertThat(histogram.getMaxValue(), is(1000L));
+    }
+
+    @Test
+    public void reportsPercentilesOfLargeValuesWithinOneThousandth() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram(3_600_000_000L);
+        Random random = new Random(42);
+        long[] values = new long[10000];
+        for (int c = 0; c < values.length; c++) {
+            values[c] = 1 + (long) (Math.abs(random.nextGaussian()) * 1_000_000);
+            histogram.recordValue(values[c]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            long expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long actual = histogram.getValueAtPercentile(percentile);
+            assertTrue(percentile + ": " + actual, Math.abs(actual - expected) <= expected / 1000);
+        }
+    }
+
+    @Test
+    public void clampsValuesAboveHighestTrackableValue() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram(1000);
+        histogram.recordValue(5000);
+
+        assertThat(histogram.getMaxValue(), is(1000L));
+    }
+
+    @Test
+    public void correctsForCoordinatedOmission() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram(1000);
+        histogram.recordValueWithExpectedInterval(500, 100);
+
+        assertThat(histogram.getTotalCount(), is(5L));
+        assertThat(histogram.getValueAtPercentile(50), is(300L));
+    }
+
+    @Test
+    public void addsValuesOfOtherHistogram() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram(1000);
+        histogram.recordValue(10);
+        LatencyHistogram other = new LatencyHistogram(1000);
+        other.recordValue(20);
+        other.recordValue(30);
+
+        histogram.add(other);
+        assertThat(histogram.getTotalCount(), is(3L));
+        assertThat(histogram.getValueAtPercentile(50), is(20L));
+        assertThat(histogram.getMaxValue(), is(30L));
+    }
+}
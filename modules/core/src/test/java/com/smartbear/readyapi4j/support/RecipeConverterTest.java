@@ -0,0 +1,66 @@
+package com.smartbear.readyapi4j.support;
+
+import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.TestRecipeBuilder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.smartbear.readyapi4j.TestRecipeBuilder.newTestRecipe;
+import static com.smartbear.readyapi4j.teststeps.TestSteps.GET;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class RecipeConverterTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final TestRecipe recipe = newTestRecipe(GET("http://localhost:8080/users")).named("Users").buildTestRecipe();
+
+    @Test
+    public void convertsJsonRecipesToSmileAndBack() throws Exception {
+        File jsonFile = temporaryFolder.newFile("users.json");
+        Files.write(jsonFile.toPath(), recipe.toJsonBytes());
+
+        File smileFile = RecipeConverter.convert(jsonFile, SerializationFormat.SMILE);
+        assertThat(smileFile.getName(), is("users.smile"));
+        assertThat(SerializationFormat.detect(Files.readAllBytes(smileFile.toPath())), is(SerializationFormat.SMILE));
+
+        jsonFile.delete();
+        File convertedJsonFile = RecipeConverter.convert(smileFile, SerializationFormat.JSON);
+        assertThat(TestRecipeBuilder.createFrom(convertedJsonFile).toString(), is(recipe.toString()));
+    }
+
+    @Test
+    public void convertsOnlyRecipesInOtherFormats() throws Exception {
+        File directory = temporaryFolder.newFolder("recipes");
+        Files.write(new File(directory, "first.json").toPath(), recipe.toJsonBytes());
+        Files.write(new File(directory, "second.smile").toPath(),
+                recipe.toJsonBytes(ObjectMapperRegistry.recipeWriter(SerializationFormat.SMILE)));
+        Files.write(new File(directory, "notes.txt").toPath(), "not a recipe".getBytes());
+
+        assertThat(RecipeConverter.convertAll(directory, SerializationFormat.SMILE), is(1));
+        assertThat(new File(directory, "first.smile").exists(), is(true));
+    }
+
+    @Test
+    public void skipsJsonFilesThatArentRecipes() throws Exception {
+        File directory = temporaryFolder.newFolder("recipes");
+        File packageFile = new File(directory, "package.json");
+        Files.write(packageFile.toPath(), "{\"name\": \"not a recipe\"}".getBytes());
+        File brokenFile = new File(directory, "broken.json");
+        Files.write(brokenFile.toPath(), "[1, 2".getBytes());
+        Files.write(new File(directory, "users.json").toPath(), recipe.toJsonBytes());
+        List<File> skippedFiles = new ArrayList<>();
+
+        assertThat(RecipeConverter.convertAll(directory, SerializationFormat.SMILE, skippedFiles), is(1));
+        assertThat(new File(directory, "users.smile").exists(), is(true));
+        assertThat(skippedFiles, is(Arrays.asList(brokenFile, packageFile)));
+    }
+}
@@ -12,7 +12,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileWriter;
+import java.nio.file.Files;
 
 /**
  * Executes a Recipe class using the configured execution engine (local execution is default)
@@ -110,12 +110,10 @@ public class CucumberRecipeExecutor {
             filenameBuilder.append(".json");
             File scenarioFile = new File(scenarioFolder, filenameBuilder.toString());
 
-            try (FileWriter writer = new FileWriter(scenarioFile)) {
-                LOG.info("Writing recipe to " + folder.getName() + File.separatorChar + scenarioFolder.getName() +
-                        File.separatorChar + scenarioFile.getName());
+            LOG.info("Writing recipe to " + folder.getName() + File.separatorChar + scenarioFolder.getName() +
+                    File.separatorChar + scenarioFile.getName());
 
-                writer.write(testRecipe.toString());
-            }
+            Files.write(scenarioFile.toPath(), testRecipe.toJsonBytes());
         } catch (Exception e) {
             LOG.error("Failed to write recipe to logFolder [" + logFolder + "]", e);
         }
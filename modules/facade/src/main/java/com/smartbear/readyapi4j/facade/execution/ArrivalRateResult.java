@@ -0,0 +1,161 @@
+package com.smartbear.readyapi4j.facade.execution;
+
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.execution.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Results of an ArrivalRateScheduler run. All latencies are in microseconds.
+ */
+
+public class ArrivalRateResult {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final LatencyHistogram latency = new LatencyHistogram(HIGHEST_TRACKABLE_MICROS);
+    private final LatencyHistogram serviceTime = new LatencyHistogram(HIGHEST_TRACKABLE_MICROS);
+    private final LatencyHistogram startDelay = new LatencyHistogram(HIGHEST_TRACKABLE_MICROS);
+    private final AtomicLong scheduledCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong lateStartCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private volatile long elapsedNanos;
+
+    void arrivalScheduled() {
+        scheduledCount.incrementAndGet();
+    }
+
+    void arrivalDropped() {
+        droppedCount.incrementAndGet();
+    }
+
+    void executionStarted(long delayNanos, boolean late) {
+        startDelay.recordValue(toMicros(delayNanos));
+        if (late) {
+            lateStartCount.incrementAndGet();
+        }
+    }
+
+    void executionFinished(Execution execution, long latencyNanos, long serviceTimeNanos) {
+        completedCount.incrementAndGet();
+        latency.recordValue(toMicros(latencyNanos));
+        serviceTime.recordValue(toMicros(serviceTimeNanos));
+        if (execution.getCurrentStatus() != TestJobReport.StatusEnum.FINISHED) {
+            failedCount.incrementAndGet();
+        }
+    }
+
+    void executionFailed(long latencyNanos) {
+        errorCount.incrementAndGet();
+        latency.recordValue(toMicros(latencyNanos));
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return latencies measured from the intended start of each arrival, corrected for coordinated omission
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return latencies measured from the actual start of each execution, which exclude queueing delays
+     */
+    public LatencyHistogram getServiceTime() {
+        return serviceTime;
+    }
+
+    /**
+     * @return how much later than intended each execution started
+     */
+    public LatencyHistogram getStartDelay() {
+        return startDelay;
+    }
+
+    /**
+     * @return the number of arrivals, including dropped arrivals
+     */
+    public long getScheduledCount() {
+        return scheduledCount.get();
+    }
+
+    /**
+     * @return the number of arrivals that were dropped because all workers were busy and the queue was full
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return the number of executions that started later than the late start threshold
+     */
+    public long getLateStartCount() {
+        return lateStartCount.get();
+    }
+
+    /**
+     * @return the number of executions that completed
+     */
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * @return the number of completed executions that didn't finish successfully
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return the number of executions that couldn't be completed because of an error
+     */
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    /**
+     * @return the time from the first arrival until all executions had finished
+     */
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /**
+     * @return the scheduled and achieved counts, followed by p50/p90/p99/p99.9/max of latency, service time and
+     * start delay
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%d arrivals: %d completed (%d failed, %d errors), %d dropped, %d late starts in %d ms%n",
+                getScheduledCount(), getCompletedCount(), getFailedCount(), getErrorCount(), getDroppedCount(),
+                getLateStartCount(), getElapsedMillis()));
+        summary.append(String.format("%-14s %10s %10s %10s %10s %10s (us)%n", "", "p50", "p90", "p99", "p99.9", "max"));
+        appendSummaryLine(summary, "latency", latency);
+        appendSummaryLine(summary, "service time", serviceTime);
+        appendSummaryLine(summary, "start delay", startDelay);
+        return summary.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getSummary();
+    }
+
+    private static void appendSummaryLine(StringBuilder summary, String name, LatencyHistogram histogram) {
+        summary.append(String.format("%-14s %10d %10d %10d %10d %10d%n", name, histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(90), histogram.getValueAtPercentile(99),
+                histogram.getValueAtPercentile(99.9), histogram.getMaxValue()));
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos));
+    }
+}
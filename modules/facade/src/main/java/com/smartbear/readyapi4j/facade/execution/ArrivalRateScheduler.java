@@ -0,0 +1,250 @@
+package com.smartbear.readyapi4j.facade.execution;
+
+import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.client.model.TestCase;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.execution.RecipeExecutor;
+import com.smartbear.readyapi4j.support.ObjectMapperRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load generator that starts Test recipes at a fixed or linearly ramping arrival rate, independent of how
+ * fast earlier executions complete. Recipes are executed synchronously by a bounded pool of worker threads with any
+ * RecipeExecutor. Since the executor applies its RecipeFilters to each recipe it executes, every arrival executes a
+ * recipe of its own rather than sharing one with concurrent arrivals.
+ * <p>
+ * Latencies are measured from the intended start time of each arrival, so queueing delays caused by a slow API or a
+ * saturated executor are included and the histograms don't suffer from coordinated omission. When all workers are busy
+ * and the queue of waiting arrivals is full, arrivals are dropped; arrivals that start later than the configured
+ * threshold are counted as late starts.
+ */
+
+public class ArrivalRateScheduler {
+    private final RecipeExecutor executor;
+    private final Supplier<TestRecipe> recipeSupplier;
+    private double startRate;
+    private double endRate;
+    private long durationNanos;
+    private int maxConcurrency = Runtime.getRuntime().availableProcessors() * 4;
+    private int maxQueued = Integer.MAX_VALUE;
+    private long lateStartThresholdNanos = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * @param executor the executor to execute the recipe with
+     * @param recipe   the recipe to start at the configured rate; each arrival executes a copy of it, to which the
+     *                 executor's RecipeFilters are applied
+     */
+    public ArrivalRateScheduler(RecipeExecutor executor, TestRecipe recipe) {
+        this(executor, copiesOf(recipe));
+    }
+
+    /**
+     * @param executor       the executor to execute the recipes with
+     * @param recipeSupplier supplies the recipe for each arrival, called from the worker threads; it must return a new
+     *                       recipe on each call, since the executor's RecipeFilters are applied to every recipe and
+     *                       recipes are executed concurrently
+     */
+    public ArrivalRateScheduler(RecipeExecutor executor, Supplier<TestRecipe> recipeSupplier) {
+        this.executor = executor;
+        this.recipeSupplier = recipeSupplier;
+    }
+
+    /**
+     * @param arrivalsPerSecond the constant rate at which recipes are started
+     */
+    public ArrivalRateScheduler withRate(double arrivalsPerSecond) {
+        return withRampingRate(arrivalsPerSecond, arrivalsPerSecond);
+    }
+
+    /**
+     * @param startArrivalsPerSecond the rate at which recipes are started at the beginning of the run
+     * @param endArrivalsPerSecond   the rate at which recipes are started at the end of the run, the rate changes
+     *                               linearly in between
+     */
+    public ArrivalRateScheduler withRampingRate(double startArrivalsPerSecond, double endArrivalsPerSecond) {
+        if (startArrivalsPerSecond < 0 || endArrivalsPerSecond < 0 ||
+                startArrivalsPerSecond + endArrivalsPerSecond == 0) {
+            throw new IllegalArgumentException("Arrival rates must not be negative and not both be zero");
+        }
+        this.startRate = startArrivalsPerSecond;
+        this.endRate = endArrivalsPerSecond;
+        return this;
+    }
+
+    /**
+     * @param duration for how long recipes are started
+     * @param timeUnit the unit of duration
+     */
+    public ArrivalRateScheduler withDuration(long duration, TimeUnit timeUnit) {
+        this.durationNanos = timeUnit.toNanos(duration);
+        return this;
+    }
+
+    /**
+     * @param maxConcurrency the number of worker threads, and thus the maximum number of concurrent executions
+     */
+    public ArrivalRateScheduler withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * @param maxQueued the maximum number of arrivals waiting for a free worker, further arrivals are dropped
+     */
+    public ArrivalRateScheduler withMaxQueued(int maxQueued) {
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("maxQueued must not be negative");
+        }
+        this.maxQueued = maxQueued;
+        return this;
+    }
+
+    /**
+     * @param threshold how much later than intended an execution may start before it is counted as a late start
+     * @param timeUnit  the unit of threshold
+     */
+    public ArrivalRateScheduler withLateStartThreshold(long threshold, TimeUnit timeUnit) {
+        this.lateStartThresholdNanos = timeUnit.toNanos(threshold);
+        return this;
+    }
+
+    /**
+     * Starts recipes at the configured rate for the configured duration and waits for all started executions to
+     * finish
+     *
+     * @return latencies, late starts and dropped arrivals of the run
+     */
+    public ArrivalRateResult run() throws InterruptedException {
+        if (startRate + endRate == 0 || durationNanos <= 0) {
+            throw new IllegalStateException("An arrival rate and a duration must be specified");
+        }
+
+        ArrivalRateResult result = new ArrivalRateResult();
+        AtomicInteger pending = new AtomicInteger();
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new WorkerThreadFactory());
+        long startTime = System.nanoTime();
+        try {
+            for (long arrival = 0; ; arrival++) {
+                long intendedOffset = intendedOffsetNanos(arrival);
+                if (intendedOffset >= durationNanos) {
+                    break;
+                }
+                long intendedStart = startTime + intendedOffset;
+                parkUntil(intendedStart);
+                result.arrivalScheduled();
+
+                if (pending.get() >= maxConcurrency + (long) maxQueued) {
+                    result.arrivalDropped();
+                    continue;
+                }
+                pending.incrementAndGet();
+                workers.execute(() -> {
+                    try {
+                        execute(result, intendedStart);
+                    } finally {
+                        pending.decrementAndGet();
+                    }
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        result.setElapsedNanos(System.nanoTime() - startTime);
+        return result;
+    }
+
+    private void execute(ArrivalRateResult result, long intendedStart) {
+        long actualStart = System.nanoTime();
+        result.executionStarted(actualStart - intendedStart, actualStart - intendedStart > lateStartThresholdNanos);
+        try {
+            Execution execution = executor.executeRecipe(recipeSupplier.get());
+            long end = System.nanoTime();
+            result.executionFinished(execution, end - intendedStart, end - actualStart);
+        } catch (RuntimeException e) {
+            result.executionFailed(System.nanoTime() - intendedStart);
+        }
+    }
+
+    /**
+     * @return a supplier of deep copies of the specified recipe, which share its ExtractorData
+     */
+    private static Supplier<TestRecipe> copiesOf(TestRecipe recipe) {
+        byte[] testCase;
+        try {
+            testCase = ObjectMapperRegistry.recipeWriter().writeValueAsBytes(recipe.getTestCase());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // the recipe writer leaves out empty properties, like the ones extracted values are transferred to
+        Map<String, String> properties = recipe.getTestCase().getProperties();
+        return () -> {
+            try {
+                TestCase copy = ObjectMapperRegistry.recipeReader().readValue(testCase);
+                if (properties != null) {
+                    copy.setProperties(new HashMap<>(properties));
+                }
+                return new TestRecipe(copy, recipe.getExtractorData());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /**
+     * The intended start of an arrival is where the cumulative number of arrivals, the integral of the linearly
+     * changing rate, reaches the arrival's index
+     */
+    long intendedOffsetNanos(long arrival) {
+        double durationSeconds = durationNanos / 1e9;
+        double acceleration = (endRate - startRate) / durationSeconds;
+        double offsetSeconds;
+        if (acceleration == 0) {
+            offsetSeconds = arrival / startRate;
+        } else {
+            double discriminant = startRate * startRate + 2 * acceleration * arrival;
+            if (discriminant < 0) {
+                return Long.MAX_VALUE;
+            }
+            offsetSeconds = (Math.sqrt(discriminant) - startRate) / acceleration;
+        }
+        return offsetSeconds >= Long.MAX_VALUE / 1e9 ? Long.MAX_VALUE : (long) (offsetSeconds * 1e9);
+    }
+
+    private static void parkUntil(long time) throws InterruptedException {
+        for (long remaining = time - System.nanoTime(); remaining > 0; remaining = time - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ArrivalRateScheduler-Worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
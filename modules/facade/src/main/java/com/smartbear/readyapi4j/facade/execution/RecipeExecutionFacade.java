@@ -1,6 +1,5 @@
 package com.smartbear.readyapi4j.facade.execution;
 
-import com.google.common.io.Files;
 import com.smartbear.readyapi4j.TestRecipe;
 import com.smartbear.readyapi4j.TestRecipeBuilder;
 import com.smartbear.readyapi4j.execution.Execution;
@@ -10,7 +9,6 @@ import com.smartbear.readyapi4j.teststeps.TestStepBuilder;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.Charset;
 
 /**
  * Utility for running recipes either locally or on a remote TestEngine based on system/env property values<br/>
@@ -79,14 +77,13 @@ public class RecipeExecutionFacade {
     }
 
     /**
-     * Executes the JSON recipe in the specified file and returns the result
+     * Executes the JSON or Smile recipe in the specified file and returns the result
      *
      * @param recipeFile the recipe to execute
      * @return the execution result
      */
     public static RecipeExecutionResult executeRecipe(File recipeFile) throws IOException {
-        String jsonRecipe = Files.toString(recipeFile, Charset.defaultCharset());
-        return executeRecipe(TestRecipeBuilder.createFrom(jsonRecipe));
+        return executeRecipe(TestRecipeBuilder.createFrom(recipeFile));
     }
 
     /**
@@ -142,13 +139,12 @@ public class RecipeExecutionFacade {
     }
 
     /**
-     * Submits the specified JSON recipe file for asynchronous execution
+     * Submits the specified JSON or Smile recipe file for asynchronous execution
      *
      * @param recipeFile the recipe to execute
      * @return the ongoing Execution for the TestRecipe
      */
     public static Execution submitRecipe(File recipeFile) throws IOException {
-        String jsonRecipe = Files.toString(recipeFile, Charset.defaultCharset());
-        return submitRecipe(TestRecipeBuilder.createFrom(jsonRecipe));
+        return submitRecipe(TestRecipeBuilder.createFrom(recipeFile));
     }
 }
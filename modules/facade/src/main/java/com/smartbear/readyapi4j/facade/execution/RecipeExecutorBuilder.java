@@ -6,6 +6,7 @@ import com.smartbear.readyapi4j.execution.RecipeFilter;
 import com.smartbear.readyapi4j.local.execution.SoapUIRecipeExecutor;
 import com.smartbear.readyapi4j.support.ExecutionLogger;
 import com.smartbear.readyapi4j.support.RecipeLogger;
+import com.smartbear.readyapi4j.support.SerializationFormat;
 import com.smartbear.readyapi4j.testengine.execution.TestEngineClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -141,6 +142,14 @@ public class RecipeExecutorBuilder {
         return withRecipeFilter(new RecipeLogger(recipeLogFolder));
     }
 
+    /**
+     * @param recipeLogFolder folder to log recipes to before execution
+     * @param format          the encoding of the logged recipes
+     */
+    public RecipeExecutorBuilder withRecipeLog(String recipeLogFolder, SerializationFormat format) {
+        return withRecipeFilter(new RecipeLogger(recipeLogFolder, format));
+    }
+
     /**
      * @param executionLogFolder folder to log executions to after execution
      */
@@ -148,6 +157,14 @@ public class RecipeExecutorBuilder {
         return withExecutionListener(new ExecutionLogger(executionLogFolder));
     }
 
+    /**
+     * @param executionLogFolder folder to log executions to after execution
+     * @param format             the encoding of the execution logs
+     */
+    public RecipeExecutorBuilder withExecutionLog(String executionLogFolder, SerializationFormat format) {
+        return withExecutionListener(new ExecutionLogger(executionLogFolder, format));
+    }
+
     /**
      * @return a local RecipeExecutor - ignores any TestEngine related configurations
      */
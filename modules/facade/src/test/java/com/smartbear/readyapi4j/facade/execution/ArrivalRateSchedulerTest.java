@@ -0,0 +1,102 @@
+package com.smartbear.readyapi4j.facade.execution;
+
+import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.execution.RecipeExecutor;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.smartbear.readyapi4j.TestRecipeBuilder.buildRecipe;
+import static com.smartbear.readyapi4j.teststeps.TestSteps.GET;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ArrivalRateSchedulerTest {
+    private static final TestRecipe RECIPE = buildRecipe(GET("http://localhost:8080/users"));
+
+    @Test
+    public void startsRecipesAtFixedRate() throws Exception {
+        ArrivalRateResult result = new ArrivalRateScheduler(makeExecutor(1), RECIPE)
+                .withRate(100)
+                .withDuration(500, TimeUnit.MILLISECONDS)
+                .withMaxConcurrency(4)
+                .run();
+
+        assertThat(result.getScheduledCount(), is(50L));
+        assertThat(result.getCompletedCount(), is(50L));
+        assertThat(result.getDroppedCount(), is(0L));
+        assertThat(result.getLatency().getTotalCount(), is(50L));
+    }
+
+    @Test
+    public void computesIntendedStartsForRampingRate() throws Exception {
+        ArrivalRateScheduler scheduler = new ArrivalRateScheduler(makeExecutor(0), RECIPE)
+                .withRampingRate(0, 20)
+                .withDuration(10, TimeUnit.SECONDS);
+
+        // the cumulative number of arrivals after t seconds is t * t, so arrival 25 is intended after 5 seconds
+        assertThat(scheduler.intendedOffsetNanos(25), is(TimeUnit.SECONDS.toNanos(5)));
+        assertThat(scheduler.intendedOffsetNanos(100), is(TimeUnit.SECONDS.toNanos(10)));
+    }
+
+    @Test
+    public void reportsDroppedArrivalsAndCorrectedLatencyWhenSaturated() throws Exception {
+        ArrivalRateResult result = new ArrivalRateScheduler(makeExecutor(50), RECIPE)
+                .withRate(100)
+                .withDuration(500, TimeUnit.MILLISECONDS)
+                .withMaxConcurrency(1)
+                .withMaxQueued(2)
+                .run();
+
+        assertTrue(result.getDroppedCount() > 0);
+        assertTrue(result.getLateStartCount() > 0);
+        assertThat(result.getCompletedCount() + result.getDroppedCount(), is(result.getScheduledCount()));
+        assertTrue(result.getLatency().getValueAtPercentile(99) > result.getServiceTime().getValueAtPercentile(99));
+    }
+
+    @Test
+    public void executesCopyOfRecipeForEachArrival() throws Exception {
+        Set<TestRecipe> executedRecipes = Collections.newSetFromMap(new IdentityHashMap<>());
+        RecipeExecutor executor = mock(RecipeExecutor.class);
+        when(executor.executeRecipe(any(TestRecipe.class))).thenAnswer(invocation -> {
+            TestRecipe recipe = (TestRecipe) invocation.getArguments()[0];
+            synchronized (executedRecipes) {
+                executedRecipes.add(recipe);
+            }
+            assertThat(recipe.getTestCase().getTestSteps().size(), is(1));
+            return mock(Execution.class);
+        });
+
+        ArrivalRateResult result = new ArrivalRateScheduler(executor, RECIPE)
+                .withRate(100)
+                .withDuration(200, TimeUnit.MILLISECONDS)
+                .withMaxConcurrency(4)
+                .run();
+
+        assertThat(result.getCompletedCount(), is(20L));
+        assertThat(executedRecipes.size(), is(20));
+        assertFalse(executedRecipes.contains(RECIPE));
+    }
+
+    private RecipeExecutor makeExecutor(long executionMillis) {
+        Execution execution = mock(Execution.class);
+        when(execution.getCurrentStatus()).thenReturn(TestJobReport.StatusEnum.FINISHED);
+        RecipeExecutor executor = mock(RecipeExecutor.class);
+        when(executor.executeRecipe(any(TestRecipe.class))).thenAnswer(invocation -> {
+            Thread.sleep(executionMillis);
+            return execution;
+        });
+        return executor;
+    }
+}
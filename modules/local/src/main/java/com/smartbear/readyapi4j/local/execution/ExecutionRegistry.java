@@ -0,0 +1,113 @@
+package com.smartbear.readyapi4j.local.execution;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe registry of local executions, bounded both by number of executions and by how long an execution is
+ * retained after it was registered or finished. Evicting an execution only drops the registry's reference to it, so
+ * that the execution, along with its SoapUI project and message exchanges, can be garbage collected once the caller
+ * no longer references it either. Projects aren't released on eviction since the caller may still be using the
+ * execution; projects that are reused through a ProjectCache are owned by the cache.
+ */
+
+public class ExecutionRegistry {
+    public static final int DEFAULT_MAX_SIZE = 1000;
+    public static final long DEFAULT_TIME_TO_LIVE_MINUTES = 30;
+
+    private final Cache<String, RegisteredExecution> executions;
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong retainedBytes = new AtomicLong();
+
+    ExecutionRegistry() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TIME_TO_LIVE_MINUTES, TimeUnit.MINUTES);
+    }
+
+    ExecutionRegistry(int maxSize, long timeToLive, TimeUnit timeUnit) {
+        if (maxSize < 0 || timeToLive < 0) {
+            throw new IllegalArgumentException("maxSize and timeToLive must not be negative");
+        }
+        executions = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLive, timeUnit)
+                .removalListener(this::executionRemoved)
+                .build();
+    }
+
+    void register(SoapUIRecipeExecution execution) {
+        executions.put(execution.getId(), new RegisteredExecution(execution, 0));
+        executions.cleanUp();
+    }
+
+    /**
+     * Re-registers a finished execution, restarting its time-to-live and recording its estimated size
+     */
+    void executionFinished(SoapUIRecipeExecution execution) {
+        if (executions.getIfPresent(execution.getId()) != null) {
+            long estimatedBytes = execution.estimateRetainedBytes();
+            retainedBytes.addAndGet(estimatedBytes);
+            executions.put(execution.getId(), new RegisteredExecution(execution, estimatedBytes));
+        }
+    }
+
+    /**
+     * @return the execution with the specified id, null if it is unknown or has been evicted
+     */
+    public SoapUIRecipeExecution get(String executionId) {
+        RegisteredExecution registeredExecution = executions.getIfPresent(executionId);
+        return registeredExecution == null ? null : registeredExecution.execution;
+    }
+
+    /**
+     * @return the number of executions currently retained
+     */
+    public long size() {
+        return executions.size();
+    }
+
+    /**
+     * @return the number of executions evicted because of the size limit or time-to-live
+     */
+    public long getEvictionCount() {
+        executions.cleanUp();
+        return evictionCount.get();
+    }
+
+    /**
+     * @return the estimated number of bytes of message exchange data held by retained, finished executions
+     */
+    public long getRetainedBytes() {
+        executions.cleanUp();
+        return retainedBytes.get();
+    }
+
+    /**
+     * Removes all executions from this registry
+     */
+    public void clear() {
+        executions.invalidateAll();
+    }
+
+    private void executionRemoved(RemovalNotification<String, RegisteredExecution> notification) {
+        if (notification.wasEvicted()) {
+            evictionCount.incrementAndGet();
+        }
+        if (notification.getValue() != null) {
+            retainedBytes.addAndGet(-notification.getValue().estimatedBytes);
+        }
+    }
+
+    private static class RegisteredExecution {
+        private final SoapUIRecipeExecution execution;
+        private final long estimatedBytes;
+
+        RegisteredExecution(SoapUIRecipeExecution execution, long estimatedBytes) {
+            this.execution = execution;
+            this.estimatedBytes = estimatedBytes;
+        }
+    }
+}
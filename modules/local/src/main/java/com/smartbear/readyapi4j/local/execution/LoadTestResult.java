@@ -0,0 +1,196 @@
+package com.smartbear.readyapi4j.local.execution;
+
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.execution.LatencyHistogram;
+import com.smartbear.readyapi4j.result.RecipeExecutionResult;
+import com.smartbear.readyapi4j.result.TestStepResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and throughput measured by a LoadTestRunner. All latencies are in milliseconds.
+ */
+
+public class LoadTestResult {
+    private static final long HIGHEST_TRACKABLE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final long throughputIntervalMillis;
+    private final LatencyHistogram iterationLatency = new LatencyHistogram(HIGHEST_TRACKABLE_MILLIS);
+    private final Map<String, LatencyHistogram> stepLatencies = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, LongAdder> iterationsPerInterval = new ConcurrentSkipListMap<>();
+    private final AtomicLong iterationCount = new AtomicLong();
+    private final AtomicLong failedIterationCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private volatile long elapsedMillis;
+
+    LoadTestResult(long throughputIntervalMillis) {
+        this.throughputIntervalMillis = throughputIntervalMillis;
+    }
+
+    void recordIteration(RecipeExecutionResult executionResult, long offsetMillis, long latencyMillis) {
+        iterationCount.incrementAndGet();
+        iterationLatency.recordValue(latencyMillis);
+        iterationsPerInterval.computeIfAbsent(offsetMillis / throughputIntervalMillis, interval -> new LongAdder())
+                .increment();
+        if (executionResult.getStatus() != TestJobReport.StatusEnum.FINISHED ||
+                !executionResult.getFailedTestStepsResults().isEmpty()) {
+            failedIterationCount.incrementAndGet();
+        }
+        for (TestStepResult testStepResult : executionResult.getTestStepResults()) {
+            if (testStepResult.getTimeTaken() != null) {
+                stepLatencies.computeIfAbsent(testStepResult.getTestStepName(),
+                        name -> new LatencyHistogram(HIGHEST_TRACKABLE_MILLIS))
+                        .recordValue(Math.max(0, testStepResult.getTimeTaken()));
+            }
+        }
+    }
+
+    void recordError(long offsetMillis) {
+        errorCount.incrementAndGet();
+        iterationsPerInterval.computeIfAbsent(offsetMillis / throughputIntervalMillis, interval -> new LongAdder());
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * @return the number of completed recipe executions
+     */
+    public long getIterationCount() {
+        return iterationCount.get();
+    }
+
+    /**
+     * @return the number of completed recipe executions that didn't finish or had failing test steps
+     */
+    public long getFailedIterationCount() {
+        return failedIterationCount.get();
+    }
+
+    /**
+     * @return the number of recipe executions that couldn't be completed because of an error
+     */
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    /**
+     * @return the time the whole load test took
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return the average number of completed iterations per second over the whole load test
+     */
+    public double getThroughput() {
+        return elapsedMillis == 0 ? 0 : getIterationCount() * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * @return the number of completed iterations per throughput interval, in chronological order
+     */
+    public List<ThroughputSample> getThroughputOverTime() {
+        List<ThroughputSample> samples = new ArrayList<>();
+        if (iterationsPerInterval.isEmpty()) {
+            return samples;
+        }
+        for (long interval = 0; interval <= iterationsPerInterval.lastKey(); interval++) {
+            LongAdder count = iterationsPerInterval.get(interval);
+            samples.add(new ThroughputSample(interval * throughputIntervalMillis, throughputIntervalMillis,
+                    count == null ? 0 : count.sum()));
+        }
+        return samples;
+    }
+
+    /**
+     * @return the latencies of whole recipe executions
+     */
+    public LatencyHistogram getIterationLatency() {
+        return iterationLatency;
+    }
+
+    /**
+     * @return the names of all test steps for which latencies have been recorded, in alphabetical order
+     */
+    public Set<String> getTestStepNames() {
+        return new TreeSet<>(stepLatencies.keySet());
+    }
+
+    /**
+     * @param testStepName the name of a test step in the recipe
+     * @return the latencies of the test step, null if no latencies have been recorded for it
+     */
+    public LatencyHistogram getTestStepLatency(String testStepName) {
+        return stepLatencies.get(testStepName);
+    }
+
+    /**
+     * @return a table with the number of executions and the p50/p90/p99/p99.9/max latencies per test step and for
+     * whole iterations, followed by the overall throughput
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%-40s %10s %8s %8s %8s %8s %8s%n",
+                "Test step", "count", "p50", "p90", "p99", "p99.9", "max"));
+        for (String testStepName : getTestStepNames()) {
+            appendSummaryLine(summary, testStepName, stepLatencies.get(testStepName));
+        }
+        appendSummaryLine(summary, "<iteration>", iterationLatency);
+        summary.append(String.format("%d iterations (%d failed, %d errors) in %d ms, %.1f iterations/s%n",
+                getIterationCount(), getFailedIterationCount(), getErrorCount(), elapsedMillis, getThroughput()));
+        return summary.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getSummary();
+    }
+
+    private static void appendSummaryLine(StringBuilder summary, String name, LatencyHistogram histogram) {
+        summary.append(String.format("%-40s %10d %8d %8d %8d %8d %8d%n", name, histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9), histogram.getMaxValue()));
+    }
+
+    /**
+     * The number of iterations completed during one throughput interval
+     */
+    public static class ThroughputSample {
+        private final long offsetMillis;
+        private final long intervalMillis;
+        private final long iterationCount;
+
+        ThroughputSample(long offsetMillis, long intervalMillis, long iterationCount) {
+            this.offsetMillis = offsetMillis;
+            this.intervalMillis = intervalMillis;
+            this.iterationCount = iterationCount;
+        }
+
+        /**
+         * @return the start of the interval, relative to the start of the load test
+         */
+        public long getOffsetMillis() {
+            return offsetMillis;
+        }
+
+        public long getIterationCount() {
+            return iterationCount;
+        }
+
+        public double getIterationsPerSecond() {
+            return iterationCount * 1000.0 / intervalMillis;
+        }
+    }
+}
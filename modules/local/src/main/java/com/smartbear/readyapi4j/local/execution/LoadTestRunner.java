@@ -0,0 +1,135 @@
+package com.smartbear.readyapi4j.local.execution;
+
+import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.execution.Execution;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a Test recipe repeatedly with a number of concurrent virtual users, for a fixed duration and/or a fixed number
+ * of iterations. Every virtual user executes the recipe synchronously in a loop, so this is a closed-model load test.
+ * Latencies of each test step and of whole iterations are recorded in milliseconds.
+ * <p>
+ * Every iteration is registered with the executor's execution registry, so use an executor with a small registry when
+ * running many iterations.
+ */
+
+public class LoadTestRunner {
+    private final SoapUIRecipeExecutor executor;
+    private final TestRecipe recipe;
+    private int virtualUsers = 1;
+    private long durationMillis;
+    private long iterations;
+    private long throughputIntervalMillis = 1000;
+
+    public LoadTestRunner(SoapUIRecipeExecutor executor, TestRecipe recipe) {
+        this.executor = executor;
+        this.recipe = recipe;
+    }
+
+    /**
+     * @param virtualUsers the number of virtual users executing the recipe concurrently
+     */
+    public LoadTestRunner withVirtualUsers(int virtualUsers) {
+        if (virtualUsers < 1) {
+            throw new IllegalArgumentException("virtualUsers must be at least 1");
+        }
+        this.virtualUsers = virtualUsers;
+        return this;
+    }
+
+    /**
+     * @param duration how long to run the load test, the test stops when either the duration or the number of
+     *                 iterations has been reached
+     * @param timeUnit the unit of duration
+     */
+    public LoadTestRunner withDuration(long duration, TimeUnit timeUnit) {
+        this.durationMillis = timeUnit.toMillis(duration);
+        return this;
+    }
+
+    /**
+     * @param iterations the total number of recipe executions over all virtual users
+     */
+    public LoadTestRunner withIterations(long iterations) {
+        this.iterations = iterations;
+        return this;
+    }
+
+    /**
+     * @param interval the length of the intervals for which throughput is reported, one second by default
+     * @param timeUnit the unit of interval
+     */
+    public LoadTestRunner withThroughputInterval(long interval, TimeUnit timeUnit) {
+        long intervalMillis = timeUnit.toMillis(interval);
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("The throughput interval must be at least one millisecond");
+        }
+        this.throughputIntervalMillis = intervalMillis;
+        return this;
+    }
+
+    /**
+     * Runs the load test and waits for all virtual users to finish
+     *
+     * @return the latencies and throughput measured during the load test
+     */
+    public LoadTestResult run() throws InterruptedException {
+        if (durationMillis <= 0 && iterations <= 0) {
+            throw new IllegalStateException("Either a duration or a number of iterations must be specified");
+        }
+        executor.applyRecipeFilters(recipe);
+
+        LoadTestResult result = new LoadTestResult(throughputIntervalMillis);
+        AtomicLong remainingIterations = new AtomicLong(iterations > 0 ? iterations : Long.MAX_VALUE);
+        long startTime = System.nanoTime();
+        long deadline = durationMillis > 0 ? startTime + TimeUnit.MILLISECONDS.toNanos(durationMillis) : Long.MAX_VALUE;
+
+        ExecutorService virtualUserThreads = Executors.newFixedThreadPool(virtualUsers, new VirtualUserThreadFactory());
+        for (int c = 0; c < virtualUsers; c++) {
+            virtualUserThreads.execute(() -> runVirtualUser(result, remainingIterations, startTime, deadline));
+        }
+        virtualUserThreads.shutdown();
+        try {
+            virtualUserThreads.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            virtualUserThreads.shutdownNow();
+            throw e;
+        }
+
+        result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        return result;
+    }
+
+    private void runVirtualUser(LoadTestResult result, AtomicLong remainingIterations, long startTime, long deadline) {
+        while (!Thread.currentThread().isInterrupted() && (deadline == Long.MAX_VALUE || System.nanoTime() - deadline < 0)
+                && remainingIterations.getAndDecrement() > 0) {
+            long iterationStart = System.nanoTime();
+            try {
+                Execution execution = executor.postRecipe(recipe, false);
+                long iterationEnd = System.nanoTime();
+                result.recordIteration(execution.getExecutionResult(),
+                        TimeUnit.NANOSECONDS.toMillis(iterationEnd - startTime),
+                        TimeUnit.NANOSECONDS.toMillis(iterationEnd - iterationStart));
+            } catch (RuntimeException e) {
+                result.recordError(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            }
+        }
+    }
+
+    private static class VirtualUserThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "LoadTestRunner-VirtualUser-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
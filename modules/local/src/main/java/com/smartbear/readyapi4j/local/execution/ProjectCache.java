@@ -0,0 +1,222 @@
+package com.smartbear.readyapi4j.local.execution;
+
+import com.eviware.soapui.impl.wsdl.WsdlProject;
+import com.eviware.soapui.model.testsuite.TestCase;
+import com.eviware.soapui.model.testsuite.TestSuite;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.hash.Hashing;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of parsed SoapUI projects for recipes that are executed repeatedly with only their property values changing.
+ * Projects are keyed by a SHA-256 hash of the recipe structure, in which test case property values are blanked out,
+ * and are handed out to one execution at a time. When the execution has finished successfully, it keeps its final
+ * report and transactions and hands its project back to the cache, where least recently used recipe structures are
+ * evicted and released when either the maximum number of projects or the maximum estimated size is exceeded. Idle
+ * projects are never referenced by an execution. The size of a project is estimated from the size of its serialized
+ * recipe.
+ * <p>
+ * Apart from the test case properties, which are set to the values of each recipe, a reused project is in the state
+ * the previous execution left it in.
+ * <p>
+ * Note that recipes with data extractors get unique property names and will therefore never share a project.
+ */
+
+public class ProjectCache {
+    private static final ObjectMapper structureMapper = TestCaseStructConverter.getObjectMapper().copy()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+    private static final String PROPERTIES_FIELD = "properties";
+
+    private final int maxProjects;
+    private final long maxEstimatedBytes;
+    private final LinkedHashMap<String, Deque<CachedProject>> idleProjects = new LinkedHashMap<>(16, 0.75f, true);
+    private int projectCount;
+    private long estimatedBytes;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    ProjectCache(int maxProjects, long maxEstimatedBytes) {
+        if (maxProjects < 0 || maxEstimatedBytes < 0) {
+            throw new IllegalArgumentException("maxProjects and maxEstimatedBytes must not be negative");
+        }
+        this.maxProjects = maxProjects;
+        this.maxEstimatedBytes = maxEstimatedBytes;
+    }
+
+    /**
+     * Takes an idle project with the same structure as the specified test case out of the cache
+     *
+     * @return a lease that holds the cached project, or no project if there was no idle project for this structure
+     */
+    Lease checkout(com.smartbear.readyapi4j.client.model.TestCase testCase) throws IOException {
+        byte[] structure = serializeStructure(testCase);
+        String key = Hashing.sha256().hashBytes(structure).toString();
+        return new Lease(key, structure.length, takeIdleProject(key));
+    }
+
+    /**
+     * Returns the project of a finished execution to the cache, evicting least recently used projects if needed
+     */
+    void release(Lease lease, WsdlProject project) {
+        returnProject(lease.key, project, lease.estimatedBytes);
+    }
+
+    /**
+     * Sets the test case properties of a cached project to the values of the recipe being executed
+     */
+    static void applyProperties(WsdlProject project, Map<String, String> properties) {
+        if (properties == null || properties.isEmpty()) {
+            return;
+        }
+        for (TestSuite testSuite : project.getTestSuiteList()) {
+            for (TestCase testCase : testSuite.getTestCaseList()) {
+                properties.forEach(testCase::setPropertyValue);
+            }
+        }
+    }
+
+    /**
+     * @return the number of idle projects currently held by this cache
+     */
+    public synchronized int size() {
+        return projectCount;
+    }
+
+    /**
+     * @return the estimated number of bytes held by idle projects in this cache
+     */
+    public synchronized long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * @return the number of executions that reused a cached project
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of executions for which a new project had to be parsed
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of projects evicted because of the count or size limit
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Releases and removes all idle projects from this cache
+     */
+    public synchronized void clear() {
+        idleProjects.values().forEach(projects -> projects.forEach(cachedProject -> cachedProject.project.release()));
+        idleProjects.clear();
+        projectCount = 0;
+        estimatedBytes = 0;
+    }
+
+    private static byte[] serializeStructure(com.smartbear.readyapi4j.client.model.TestCase testCase) throws IOException {
+        JsonNode structure = structureMapper.valueToTree(testCase);
+        JsonNode properties = structure.get(PROPERTIES_FIELD);
+        if (properties instanceof ObjectNode) {
+            Iterator<String> propertyNames = properties.fieldNames();
+            ObjectNode blankedProperties = structureMapper.createObjectNode();
+            while (propertyNames.hasNext()) {
+                blankedProperties.put(propertyNames.next(), "");
+            }
+            ((ObjectNode) structure).set(PROPERTIES_FIELD, blankedProperties);
+        }
+        return structureMapper.writeValueAsBytes(structure);
+    }
+
+    private synchronized WsdlProject takeIdleProject(String key) {
+        Deque<CachedProject> projects = idleProjects.get(key);
+        if (projects == null) {
+            missCount++;
+            return null;
+        }
+        CachedProject cachedProject = projects.pop();
+        if (projects.isEmpty()) {
+            idleProjects.remove(key);
+        }
+        projectCount--;
+        estimatedBytes -= cachedProject.estimatedBytes;
+        hitCount++;
+        return cachedProject.project;
+    }
+
+    private synchronized void returnProject(String key, WsdlProject project, long projectBytes) {
+        idleProjects.computeIfAbsent(key, k -> new ArrayDeque<>()).push(new CachedProject(project, projectBytes));
+        projectCount++;
+        estimatedBytes += projectBytes;
+        evictLeastRecentlyUsed();
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Iterator<Deque<CachedProject>> iterator = idleProjects.values().iterator();
+        while ((projectCount > maxProjects || estimatedBytes > maxEstimatedBytes) && iterator.hasNext()) {
+            Deque<CachedProject> projects = iterator.next();
+            while (!projects.isEmpty() && (projectCount > maxProjects || estimatedBytes > maxEstimatedBytes)) {
+                CachedProject evicted = projects.removeLast();
+                projectCount--;
+                estimatedBytes -= evicted.estimatedBytes;
+                evictionCount++;
+                evicted.project.release();
+            }
+            if (projects.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * A project handed out to a single execution, to be returned to the cache when the execution has finished
+     */
+    static class Lease {
+        private final String key;
+        private final long estimatedBytes;
+        private final WsdlProject project;
+
+        private Lease(String key, long estimatedBytes, WsdlProject project) {
+            this.key = key;
+            this.estimatedBytes = estimatedBytes;
+            this.project = project;
+        }
+
+        /**
+         * @return the cached project, null if a new project has to be parsed
+         */
+        WsdlProject getProject() {
+            return project;
+        }
+
+        String getKey() {
+            return key;
+        }
+    }
+
+    private static class CachedProject {
+        private final WsdlProject project;
+        private final long estimatedBytes;
+
+        CachedProject(WsdlProject project, long estimatedBytes) {
+            this.project = project;
+            this.estimatedBytes = estimatedBytes;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.eviware.soapui.impl.wsdl.testcase.WsdlProjectRunner;
 import com.eviware.soapui.model.iface.MessageExchange;
 import com.eviware.soapui.model.testsuite.TestCase;
 import com.eviware.soapui.model.testsuite.*;
+import com.google.common.collect.MapMaker;
 import com.google.common.collect.Maps;
 import com.smartbear.readyapi4j.client.model.*;
 import com.smartbear.readyapi4j.execution.Execution;
@@ -14,13 +15,20 @@ import com.smartbear.readyapi4j.result.AbstractTestStepResult;
 import com.smartbear.readyapi4j.result.RecipeExecutionResult;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class SoapUIRecipeExecution implements Execution {
 
     private Map<TestStepResultReport, MessageExchange[]> messageExchangeMap = Maps.newConcurrentMap();
+    // HAR entries of the message exchanges, taken when the project is detached from this execution
+    private final Map<TestStepResultReport, HarEntry> harEntries = Maps.newConcurrentMap();
+    // reports of the SoapUI step results already converted, shared by step events and reports of this execution
+    private final Map<TestStepResult, TestStepResultReport> stepReports = new MapMaker().weakKeys().makeMap();
     private final String executionId;
-    private final WsdlProjectRunner projectRunner;
-    private TestJobReport finalReport;
+    private final CompletableFuture<RecipeExecutionResult> completion = new CompletableFuture<>();
+    private volatile WsdlProjectRunner projectRunner;
+    private volatile TestJobReport finalReport;
+    private long detachedRetainedBytes;
 
     SoapUIRecipeExecution(String executionId, WsdlProjectRunner projectRunner) {
         this.executionId = executionId;
@@ -34,15 +42,21 @@ public class SoapUIRecipeExecution implements Execution {
 
     @Override
     public TestJobReport.StatusEnum getCurrentStatus() {
-        return convertTestRunnerStatus(projectRunner.getStatus());
+        WsdlProjectRunner runner = projectRunner;
+        return runner == null ? finalReport.getStatus() : convertTestRunnerStatus(runner.getStatus());
     }
 
+    /**
+     * @return the SoapUI project run by this execution, null if the execution has finished and its project was
+     * returned to the ProjectCache for other executions to reuse
+     */
     public WsdlProject getProject() {
-        return (WsdlProject) projectRunner.getProject();
+        WsdlProjectRunner runner = projectRunner;
+        return runner == null ? null : (WsdlProject) runner.getProject();
     }
 
     @Override
-    public TestJobReport getCurrentReport() {
+    public synchronized TestJobReport getCurrentReport() {
         if (finalReport != null) {
             return finalReport;
         }
@@ -78,7 +92,52 @@ public class SoapUIRecipeExecution implements Execution {
 
     @Override
     public void cancelExecution() {
-        projectRunner.cancel("Canceled by user");
+        WsdlProjectRunner runner = projectRunner;
+        if (runner != null) {
+            runner.cancel("Canceled by user");
+        }
+    }
+
+    @Override
+    public CompletableFuture<RecipeExecutionResult> completion() {
+        return completion;
+    }
+
+    void complete() {
+        try {
+            completion.complete(getExecutionResult());
+        } catch (RuntimeException e) {
+            completion.completeExceptionally(e);
+        }
+    }
+
+    void completeExceptionally(Throwable throwable) {
+        completion.completeExceptionally(throwable);
+    }
+
+    /**
+     * Keeps the final report and the transactions of this finished execution, so that it no longer references its
+     * project, which can then be run by other executions
+     *
+     * @return the project of this execution
+     */
+    synchronized WsdlProject detachProject() {
+        WsdlProject project = getProject();
+        finalReport = getCurrentReport();
+        detachedRetainedBytes = estimateRetainedBytes();
+        messageExchangeMap.forEach((testStepResultReport, messageExchanges) -> {
+            if (messageExchanges.length > 0) {
+                harEntries.put(testStepResultReport, new HarEntryBuilder().createHarEntry(messageExchanges[0]));
+            }
+        });
+        messageExchangeMap.clear();
+        stepReports.clear();
+        projectRunner = null;
+        return project;
+    }
+
+    SoapUITestStepResult createTestStepResult(TestStepResult result) {
+        return new SoapUITestStepResult(getTestStepResultReport(result), this);
     }
 
     private TestSuiteResultReport makeTestSuiteResultReport(TestSuiteRunner runner) {
@@ -103,12 +162,16 @@ public class SoapUIRecipeExecution implements Execution {
         }
         List<TestStepResultReport> testStepResultReports = new ArrayList<>();
         for (TestStepResult stepResult : testCaseResult.getResults()) {
-            testStepResultReports.add(makeTestStepResultReport(stepResult));
+            testStepResultReports.add(getTestStepResultReport(stepResult));
         }
         report.setTestStepResultReports(testStepResultReports);
         return report;
     }
 
+    private TestStepResultReport getTestStepResultReport(TestStepResult result) {
+        return stepReports.computeIfAbsent(result, this::makeTestStepResultReport);
+    }
+
     private TestStepResultReport makeTestStepResultReport(TestStepResult result) {
         TestStepResultReport report = new TestStepResultReport();
         report.setTestStepName(result.getTestStep().getName());
@@ -140,6 +203,8 @@ public class SoapUIRecipeExecution implements Execution {
 
     private TestJobReport.StatusEnum convertTestRunnerStatus(TestRunner.Status status) {
         switch (status) {
+            case INITIALIZED:
+                // an execution queued on a caller-supplied executor hasn't been started yet
             case RUNNING:
                 return TestJobReport.StatusEnum.RUNNING;
             case CANCELED:
@@ -169,16 +234,44 @@ public class SoapUIRecipeExecution implements Execution {
 
         @Override
         public HarEntry getHarEntry() {
-            if (execution.hasMessageExchange(testStepResultReport)) {
-                return new HarEntryBuilder().createHarEntry(execution.getMessageExchange(testStepResultReport));
+            return execution.getHarEntry(testStepResultReport);
+        }
+    }
+
+    /**
+     * @return an estimate of the number of bytes held by the raw request and response data of this execution
+     */
+    long estimateRetainedBytes() {
+        if (projectRunner == null) {
+            return detachedRetainedBytes;
+        }
+        long result = 0;
+        for (MessageExchange[] messageExchanges : messageExchangeMap.values()) {
+            for (MessageExchange messageExchange : messageExchanges) {
+                byte[] rawRequestData = messageExchange.getRawRequestData();
+                byte[] rawResponseData = messageExchange.getRawResponseData();
+                result += (rawRequestData == null ? 0 : rawRequestData.length) +
+                        (rawResponseData == null ? 0 : rawResponseData.length);
             }
+        }
+        return result;
+    }
 
-            return null;
+    HarEntry getHarEntry(TestStepResultReport testStepResultReport) {
+        HarEntry harEntry = harEntries.get(testStepResultReport);
+        if (harEntry == null && hasMessageExchange(testStepResultReport)) {
+            harEntry = new HarEntryBuilder().createHarEntry(getMessageExchange(testStepResultReport));
         }
+        return harEntry;
     }
 
+    /**
+     * @return the first message exchange of the specified test step, null if there is none or if the execution has
+     * finished and its project was returned to the ProjectCache, in which case only its HAR entry is kept
+     */
     public MessageExchange getMessageExchange(TestStepResultReport testStepResultReport) {
-        return messageExchangeMap.get(testStepResultReport)[0];
+        MessageExchange[] messageExchanges = messageExchangeMap.get(testStepResultReport);
+        return messageExchanges == null || messageExchanges.length == 0 ? null : messageExchanges[0];
     }
 
     public boolean hasMessageExchange(TestStepResultReport testStepResultReport) {
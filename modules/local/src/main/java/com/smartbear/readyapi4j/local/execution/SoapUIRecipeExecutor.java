@@ -3,12 +3,17 @@ package com.smartbear.readyapi4j.local.execution;
 import com.eviware.soapui.impl.wsdl.WsdlProject;
 import com.eviware.soapui.impl.wsdl.testcase.WsdlProjectRunner;
 import com.eviware.soapui.model.support.ProjectRunListenerAdapter;
+import com.eviware.soapui.model.support.TestRunListenerAdapter;
 import com.eviware.soapui.model.testsuite.ProjectRunContext;
+import com.eviware.soapui.model.testsuite.ProjectRunListener;
 import com.eviware.soapui.model.testsuite.ProjectRunner;
+import com.eviware.soapui.model.testsuite.TestCase;
+import com.eviware.soapui.model.testsuite.TestCaseRunContext;
+import com.eviware.soapui.model.testsuite.TestCaseRunner;
+import com.eviware.soapui.model.testsuite.TestRunListener;
+import com.eviware.soapui.model.testsuite.TestStepResult;
+import com.eviware.soapui.model.testsuite.TestSuite;
 import com.eviware.soapui.support.types.StringToObjectMap;
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.databind.MapperFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.smartbear.ready.recipe.JsonRecipeParser;
 import com.smartbear.ready.recipe.teststeps.TestCaseStruct;
 import com.smartbear.readyapi4j.TestRecipe;
@@ -20,6 +25,10 @@ import com.smartbear.readyapi4j.teststeps.TestStepTypes;
 
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -27,12 +36,87 @@ import java.util.stream.Collectors;
  */
 public class SoapUIRecipeExecutor implements RecipeExecutor {
     private static final String LOCAL_CLIENT_EXECUTION_ID = "SoapUILocalClient#ExecutionId";
+    // runs asynchronous executions of cached projects if no executor was configured, since SoapUI's runner threads
+    // don't tell when they are done with a project
+    private static final Executor CACHED_PROJECT_RUNNER = createCachedProjectRunner();
 
-    private final Map<String, SoapUIRecipeExecution> executionsMap = new HashMap<>();
+    private final ExecutionRegistry executionRegistry;
     private final JsonRecipeParser recipeParser = new JsonRecipeParser();
     private final List<ExecutionListener> executionListeners = new CopyOnWriteArrayList<>();
     private final List<RecipeFilter> recipeFilters = new CopyOnWriteArrayList<>();
-    private ObjectMapper objectMapper;
+    private volatile ProjectCache projectCache;
+    private volatile Executor asyncExecutor;
+
+    /**
+     * Creates an executor that retains at most ExecutionRegistry.DEFAULT_MAX_SIZE executions for
+     * ExecutionRegistry.DEFAULT_TIME_TO_LIVE_MINUTES minutes
+     */
+    public SoapUIRecipeExecutor() {
+        this(ExecutionRegistry.DEFAULT_MAX_SIZE, ExecutionRegistry.DEFAULT_TIME_TO_LIVE_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Creates an executor with a bounded registry of executions
+     *
+     * @param maxRetainedExecutions the maximum number of executions to retain
+     * @param timeToLive            how long to retain an execution after it was started or finished
+     * @param timeUnit              the unit of timeToLive
+     */
+    public SoapUIRecipeExecutor(int maxRetainedExecutions, long timeToLive, TimeUnit timeUnit) {
+        executionRegistry = new ExecutionRegistry(maxRetainedExecutions, timeToLive, timeUnit);
+    }
+
+    /**
+     * @return the registry of retained executions, including eviction and memory metrics
+     */
+    public ExecutionRegistry getExecutionRegistry() {
+        return executionRegistry;
+    }
+
+    /**
+     * Enables caching of parsed SoapUI projects, so that recipes executed repeatedly with only their property values
+     * changing don't have to be parsed for each execution.
+     *
+     * @param maxProjects       the maximum number of idle projects to cache
+     * @param maxEstimatedBytes the maximum estimated size of all idle projects
+     * @return this executor
+     */
+    public synchronized SoapUIRecipeExecutor withProjectCache(int maxProjects, long maxEstimatedBytes) {
+        if (projectCache != null) {
+            projectCache.clear();
+        }
+        projectCache = new ProjectCache(maxProjects, maxEstimatedBytes);
+        return this;
+    }
+
+    /**
+     * Runs asynchronous executions on the specified executor instead of on threads managed by SoapUI. Each recipe is
+     * run synchronously by a single task, so an executor that starts a virtual thread per task (JDK 21+) allows a
+     * large number of concurrent, I/O-bound executions.
+     *
+     * @param executor the executor to run asynchronous executions on, null to let SoapUI manage the threads of
+     *                 executions that don't use a cached project
+     * @return this executor
+     */
+    public SoapUIRecipeExecutor withAsyncExecutor(Executor executor) {
+        asyncExecutor = executor;
+        return this;
+    }
+
+    /**
+     * @return the cache of parsed projects, including hit and eviction metrics, null if project caching isn't enabled
+     */
+    public ProjectCache getProjectCache() {
+        return projectCache;
+    }
+
+    /**
+     * @param executionId the id of a previously started execution
+     * @return the execution, null if it is unknown or has been evicted from the registry
+     */
+    public SoapUIRecipeExecution getExecution(String executionId) {
+        return executionRegistry.get(executionId);
+    }
 
     @Override
     public Execution submitRecipe(TestRecipe recipe) {
@@ -40,8 +124,8 @@ public class SoapUIRecipeExecutor implements RecipeExecutor {
         return postRecipe(recipe, true);
     }
 
-    private void applyRecipeFilters(TestRecipe recipe) {
-        recipeFilters.forEach(filter -> filter.filterRecipe(recipe));
+    void applyRecipeFilters(TestRecipe recipe) {
+        recipe.applyFilters(recipeFilters);
     }
 
     @Override
@@ -75,7 +159,7 @@ public class SoapUIRecipeExecutor implements RecipeExecutor {
         return ExecutionMode.LOCAL;
     }
 
-    private Execution postRecipe(TestRecipe testRecipe, boolean async) {
+    Execution postRecipe(TestRecipe testRecipe, boolean async) {
         List<TestStep> proTestSteps = testRecipe.getTestCase().getTestSteps()
                 .stream()
                 .filter(testStep -> testStep.getType().equals(TestStepTypes.DATA_SOURCE.getName()))
@@ -86,22 +170,50 @@ public class SoapUIRecipeExecutor implements RecipeExecutor {
 
         String executionId = UUID.randomUUID().toString();
         try {
-            String jsonText = getObjectMapper().writeValueAsString(testRecipe.getTestCase());
-            TestCaseStruct testCaseStruct = getObjectMapper().readValue(jsonText, TestCaseStruct.class);
-            WsdlProject project = recipeParser.parse(testCaseStruct);
+            ProjectCache cache = projectCache;
+            ProjectCache.Lease lease = cache == null ? null : cache.checkout(testRecipe.getTestCase());
+            WsdlProject project = lease == null ? null : lease.getProject();
+            if (project == null) {
+                TestCaseStruct testCaseStruct = TestCaseStructConverter.toTestCaseStruct(testRecipe.getTestCase());
+                project = recipeParser.parse(testCaseStruct);
+            } else {
+                ProjectCache.applyProperties(project, testRecipe.getTestCase().getProperties());
+            }
             StringToObjectMap properties = new StringToObjectMap();
 
             WsdlProjectRunner projectRunner = new WsdlProjectRunner(project, properties);
             SoapUIRecipeExecution execution = new SoapUIRecipeExecution(executionId, projectRunner);
+            TestRunListener testStepListener = addTestStepListener(execution);
 
-            if (async) {
-                prepareAsyncExecution(testRecipe, execution, projectRunner);
-            }
+            ProjectRunListener projectRunListener = async ?
+                    prepareAsyncExecution(testRecipe, execution, projectRunner) : null;
+            Runnable returnProject = () -> {
+                if (lease != null) {
+                    returnProject(cache, lease, execution, testStepListener, projectRunListener);
+                }
+            };
 
-            executionsMap.put(executionId, execution);
-            projectRunner.start(async);
+            executionRegistry.register(execution);
+            Executor executor = asyncExecutor;
+            if (executor == null && lease != null) {
+                executor = CACHED_PROJECT_RUNNER;
+            }
+            try {
+                if (async && executor != null) {
+                    executor.execute(() -> runOnExecutor(execution, projectRunner, returnProject));
+                } else {
+                    projectRunner.start(async);
+                }
+            } catch (RuntimeException e) {
+                execution.completeExceptionally(e);
+                throw e;
+            }
             if (!async) {
-                notifyExecutionFinished(testRecipe, execution);
+                try {
+                    notifyExecutionFinished(testRecipe, execution);
+                } finally {
+                    returnProject.run();
+                }
             }
             return execution;
         } catch (Exception e) {
@@ -110,37 +222,104 @@ public class SoapUIRecipeExecutor implements RecipeExecutor {
         }
     }
 
-    private ObjectMapper getObjectMapper() {
-        if (objectMapper == null) {
-            objectMapper = new ObjectMapper();
-            objectMapper.setDefaultPropertyInclusion(JsonInclude.Value.construct(JsonInclude.Include.NON_EMPTY,
-                    JsonInclude.Include.ALWAYS));
-            objectMapper.configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true);
+    /**
+     * Runs the project on the current thread
+     *
+     * @param afterRun called once the runner has returned, when it no longer uses the project
+     */
+    private void runOnExecutor(SoapUIRecipeExecution execution, WsdlProjectRunner projectRunner, Runnable afterRun) {
+        try {
+            projectRunner.start(false);
+        } catch (RuntimeException e) {
+            notifyErrorOccurred(e);
+            execution.completeExceptionally(e);
+        } finally {
+            afterRun.run();
         }
-        return objectMapper;
     }
 
-    private void prepareAsyncExecution(TestRecipe testRecipe, SoapUIRecipeExecution execution, WsdlProjectRunner projectRunner) {
-        WsdlProject project = execution.getProject();
-        project.addProjectRunListener(new ProjectRunListenerAdapter() {
+    private ProjectRunListener prepareAsyncExecution(TestRecipe testRecipe, SoapUIRecipeExecution execution,
+                                                     WsdlProjectRunner projectRunner) {
+        ProjectRunListener projectRunListener = new ProjectRunListenerAdapter() {
             @Override
             public void beforeRun(ProjectRunner projectRunner, ProjectRunContext runContext) {
-                String executionId = (String) runContext.getProperty(LOCAL_CLIENT_EXECUTION_ID);
-                if (executionId != null) {
-                    notifyExecutionStarted(executionsMap.get(executionId));
+                if (execution.getId().equals(runContext.getProperty(LOCAL_CLIENT_EXECUTION_ID))) {
+                    notifyExecutionStarted(execution);
                 }
             }
 
             @Override
             public void afterRun(ProjectRunner projectRunner, ProjectRunContext runContext) {
-                String executionId = (String) runContext.getProperty(LOCAL_CLIENT_EXECUTION_ID);
-                if (executionId != null) {
-                    notifyExecutionFinished(testRecipe, executionsMap.get(executionId));
+                if (execution.getId().equals(runContext.getProperty(LOCAL_CLIENT_EXECUTION_ID))) {
+                    notifyExecutionFinished(testRecipe, execution);
                 }
             }
-        });
+        };
+        execution.getProject().addProjectRunListener(projectRunListener);
 
         projectRunner.getRunContext().put(LOCAL_CLIENT_EXECUTION_ID, execution.getId());
+        return projectRunListener;
+    }
+
+    private TestRunListener addTestStepListener(SoapUIRecipeExecution execution) {
+        TestRunListener testRunListener = new TestRunListenerAdapter() {
+            @Override
+            public void beforeStep(TestCaseRunner testRunner, TestCaseRunContext runContext,
+                                   com.eviware.soapui.model.testsuite.TestStep testStep) {
+                for (ExecutionListener executionListener : executionListeners) {
+                    executionListener.testStepStarted(execution, testStep.getName());
+                }
+            }
+
+            @Override
+            public void afterStep(TestCaseRunner testRunner, TestCaseRunContext runContext, TestStepResult result) {
+                if (!executionListeners.isEmpty()) {
+                    com.smartbear.readyapi4j.result.TestStepResult testStepResult = execution.createTestStepResult(result);
+                    for (ExecutionListener executionListener : executionListeners) {
+                        executionListener.testStepFinished(execution, testStepResult);
+                    }
+                }
+            }
+        };
+
+        for (TestSuite testSuite : execution.getProject().getTestSuiteList()) {
+            for (TestCase testCase : testSuite.getTestCaseList()) {
+                testCase.addTestRunListener(testRunListener);
+            }
+        }
+        return testRunListener;
+    }
+
+    /**
+     * Returns the project to the cache once the runner has returned, not when the execution completes, since the
+     * execution is completed by the runner before it has finished using the project
+     */
+    private void returnProject(ProjectCache cache, ProjectCache.Lease lease, SoapUIRecipeExecution execution,
+                               TestRunListener testStepListener, ProjectRunListener projectRunListener) {
+        // only projects of finished executions are reused, the project of a failed or canceled execution stays
+        // with its execution and is left to the garbage collector along with it
+        if (execution.completion().isDone() && !execution.completion().isCompletedExceptionally() &&
+                execution.getCurrentStatus() == TestJobReport.StatusEnum.FINISHED) {
+            WsdlProject project = execution.detachProject();
+            for (TestSuite testSuite : project.getTestSuiteList()) {
+                for (TestCase testCase : testSuite.getTestCaseList()) {
+                    testCase.removeTestRunListener(testStepListener);
+                }
+            }
+            if (projectRunListener != null) {
+                project.removeProjectRunListener(projectRunListener);
+            }
+            cache.release(lease, project);
+        }
+    }
+
+    private static Executor createCachedProjectRunner() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "SoapUIRecipeExecutor-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     private void notifyExecutionStarted(Execution execution) {
@@ -155,14 +334,19 @@ public class SoapUIRecipeExecutor implements RecipeExecutor {
         }
     }
 
-    private void notifyExecutionFinished(TestRecipe testRecipe, Execution execution) {
-        TestJobReport projectResultReport = execution.getCurrentReport();
-        if (testRecipe.getExtractorData() != null) {
-            DataExtractors.runDataExtractors(projectResultReport, Arrays.asList(testRecipe.getExtractorData()));
-        }
+    private void notifyExecutionFinished(TestRecipe testRecipe, SoapUIRecipeExecution execution) {
+        try {
+            TestJobReport projectResultReport = execution.getCurrentReport();
+            if (testRecipe.getExtractorData() != null) {
+                DataExtractors.runDataExtractors(projectResultReport, Arrays.asList(testRecipe.getExtractorData()));
+            }
 
-        for (ExecutionListener executionListener : executionListeners) {
-            executionListener.executionFinished(execution);
+            for (ExecutionListener executionListener : executionListeners) {
+                executionListener.executionFinished(execution);
+            }
+        } finally {
+            execution.complete();
+            executionRegistry.executionFinished(execution);
         }
     }
 }
@@ -0,0 +1,44 @@
+package com.smartbear.readyapi4j.local.execution;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.smartbear.ready.recipe.teststeps.TestCaseStruct;
+import com.smartbear.readyapi4j.client.model.TestCase;
+
+import java.io.IOException;
+
+/**
+ * Converts recipe TestCases into the TestCaseStruct model read by the SoapUI JsonRecipeParser. The TestCase is
+ * serialized into a Jackson TokenBuffer and the TestCaseStruct is read straight from that buffer, so no
+ * intermediate JSON text is created.
+ */
+
+class TestCaseStructConverter {
+    private static final ObjectMapper objectMapper = createObjectMapper();
+
+    private TestCaseStructConverter() {
+    }
+
+    static TestCaseStruct toTestCaseStruct(TestCase testCase) throws IOException {
+        TokenBuffer tokenBuffer = new TokenBuffer(objectMapper, false);
+        objectMapper.writeValue(tokenBuffer, testCase);
+        try (JsonParser parser = tokenBuffer.asParser()) {
+            return objectMapper.readValue(parser, TestCaseStruct.class);
+        }
+    }
+
+    static ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    private static ObjectMapper createObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.setDefaultPropertyInclusion(JsonInclude.Value.construct(JsonInclude.Include.NON_EMPTY,
+                JsonInclude.Include.ALWAYS));
+        mapper.configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true);
+        return mapper;
+    }
+}
@@ -0,0 +1,58 @@
+package com.smartbear.readyapi4j.local.execution;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ExecutionRegistryTest {
+
+    @Test
+    public void evictsOldestExecutionsWhenFull() throws Exception {
+        ExecutionRegistry registry = new ExecutionRegistry(2, 1, TimeUnit.HOURS);
+        SoapUIRecipeExecution first = makeExecution("first", 0);
+        registry.register(first);
+        registry.register(makeExecution("second", 0));
+        registry.register(makeExecution("third", 0));
+
+        assertThat(registry.size(), is(2L));
+        assertThat(registry.get("first"), is(nullValue()));
+        assertThat(registry.getEvictionCount(), is(1L));
+    }
+
+    @Test
+    public void evictsExecutionsAfterTimeToLive() throws Exception {
+        ExecutionRegistry registry = new ExecutionRegistry(10, 50, TimeUnit.MILLISECONDS);
+        registry.register(makeExecution("execution", 0));
+
+        Thread.sleep(100);
+        assertThat(registry.get("execution"), is(nullValue()));
+        assertThat(registry.getEvictionCount(), is(1L));
+    }
+
+    @Test
+    public void tracksRetainedBytesOfFinishedExecutions() throws Exception {
+        ExecutionRegistry registry = new ExecutionRegistry(10, 1, TimeUnit.HOURS);
+        SoapUIRecipeExecution execution = makeExecution("execution", 1024);
+        registry.register(execution);
+        assertThat(registry.getRetainedBytes(), is(0L));
+
+        registry.executionFinished(execution);
+        assertThat(registry.getRetainedBytes(), is(1024L));
+
+        registry.clear();
+        assertThat(registry.getRetainedBytes(), is(0L));
+    }
+
+    private SoapUIRecipeExecution makeExecution(String id, long estimatedBytes) {
+        SoapUIRecipeExecution execution = mock(SoapUIRecipeExecution.class);
+        when(execution.getId()).thenReturn(id);
+        when(execution.estimateRetainedBytes()).thenReturn(estimatedBytes);
+        return execution;
+    }
+}
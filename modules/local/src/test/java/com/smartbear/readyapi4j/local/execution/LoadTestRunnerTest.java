@@ -0,0 +1,54 @@
+package com.smartbear.readyapi4j.local.execution;
+
+import com.smartbear.readyapi4j.TestRecipe;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.smartbear.readyapi4j.TestRecipeBuilder.newTestRecipe;
+import static com.smartbear.readyapi4j.teststeps.TestSteps.groovyScriptStep;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class LoadTestRunnerTest {
+
+    private final SoapUIRecipeExecutor executor = new SoapUIRecipeExecutor(10, 1, TimeUnit.MINUTES);
+
+    @Test
+    public void runsSpecifiedNumberOfIterations() throws Exception {
+        TestRecipe testRecipe = newTestRecipe(groovyScriptStep("sleep 5")).buildTestRecipe();
+
+        LoadTestResult result = new LoadTestRunner(executor, testRecipe)
+                .withVirtualUsers(4)
+                .withIterations(20)
+                .run();
+
+        assertThat(result.getIterationCount(), is(20L));
+        assertThat(result.getErrorCount(), is(0L));
+        assertThat(result.getIterationLatency().getTotalCount(), is(20L));
+        assertThat(result.getTestStepNames().size(), is(1));
+        String testStepName = result.getTestStepNames().iterator().next();
+        assertThat(result.getTestStepLatency(testStepName).getTotalCount(), is(20L));
+        assertThat(result.getThroughputOverTime().stream().mapToLong(LoadTestResult.ThroughputSample::getIterationCount)
+                .sum(), is(20L));
+    }
+
+    @Test
+    public void stopsAfterDuration() throws Exception {
+        TestRecipe testRecipe = newTestRecipe(groovyScriptStep("sleep 10")).buildTestRecipe();
+
+        LoadTestResult result = new LoadTestRunner(executor, testRecipe)
+                .withVirtualUsers(2)
+                .withDuration(500, TimeUnit.MILLISECONDS)
+                .run();
+
+        assertTrue(result.getIterationCount() > 0);
+        assertTrue(result.getElapsedMillis() < 5000);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void requiresDurationOrIterations() throws Exception {
+        new LoadTestRunner(executor, newTestRecipe(groovyScriptStep("println 'Hello'")).buildTestRecipe()).run();
+    }
+}
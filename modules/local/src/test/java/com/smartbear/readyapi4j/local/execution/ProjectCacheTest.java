@@ -0,0 +1,76 @@
+package com.smartbear.readyapi4j.local.execution;
+
+import com.eviware.soapui.impl.wsdl.WsdlProject;
+import com.smartbear.readyapi4j.client.model.TestCase;
+import org.junit.Test;
+
+import static com.smartbear.readyapi4j.TestRecipeBuilder.newTestRecipe;
+import static com.smartbear.readyapi4j.teststeps.TestSteps.GET;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ProjectCacheTest {
+
+    @Test
+    public void reusesProjectForRecipeWithOtherPropertyValues() throws Exception {
+        ProjectCache cache = new ProjectCache(10, Long.MAX_VALUE);
+        ProjectCache.Lease lease = cache.checkout(makeTestCase("http://localhost:8080/test", "first"));
+        assertThat(lease.getProject(), is(nullValue()));
+
+        WsdlProject project = mock(WsdlProject.class);
+        cache.release(lease, project);
+
+        ProjectCache.Lease secondLease = cache.checkout(makeTestCase("http://localhost:8080/test", "second"));
+        assertThat(secondLease.getProject(), is(sameInstance(project)));
+        assertThat(secondLease.getKey(), is(lease.getKey()));
+        assertThat(cache.getHitCount(), is(1L));
+        assertThat(cache.getMissCount(), is(1L));
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void doesNotReuseProjectForOtherRecipeStructure() throws Exception {
+        ProjectCache cache = new ProjectCache(10, Long.MAX_VALUE);
+        ProjectCache.Lease lease = cache.checkout(makeTestCase("http://localhost:8080/test", "value"));
+        cache.release(lease, mock(WsdlProject.class));
+
+        ProjectCache.Lease otherLease = cache.checkout(makeTestCase("http://localhost:8080/other", "value"));
+        assertThat(otherLease.getProject(), is(nullValue()));
+        assertThat(otherLease.getKey(), is(not(lease.getKey())));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedProjectsWhenFull() throws Exception {
+        ProjectCache cache = new ProjectCache(1, Long.MAX_VALUE);
+        WsdlProject firstProject = mock(WsdlProject.class);
+        cache.release(cache.checkout(makeTestCase("http://localhost:8080/first", "value")), firstProject);
+        cache.release(cache.checkout(makeTestCase("http://localhost:8080/second", "value")), mock(WsdlProject.class));
+
+        assertThat(cache.size(), is(1));
+        assertThat(cache.getEvictionCount(), is(1L));
+        verify(firstProject).release();
+        assertThat(cache.checkout(makeTestCase("http://localhost:8080/first", "value")).getProject(), is(nullValue()));
+    }
+
+    @Test
+    public void evictsProjectsWhenEstimatedSizeIsExceeded() throws Exception {
+        ProjectCache cache = new ProjectCache(10, 1);
+        cache.release(cache.checkout(makeTestCase("http://localhost:8080/test", "value")), mock(WsdlProject.class));
+
+        assertThat(cache.size(), is(0));
+        assertThat(cache.getEstimatedBytes(), is(0L));
+        assertThat(cache.getEvictionCount(), is(1L));
+    }
+
+    private TestCase makeTestCase(String uri, String propertyValue) {
+        return newTestRecipe(GET(uri))
+                .withProperty("name", propertyValue)
+                .buildTestRecipe()
+                .getTestCase();
+    }
+}
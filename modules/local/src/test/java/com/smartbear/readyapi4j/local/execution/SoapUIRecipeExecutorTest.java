@@ -1,9 +1,11 @@
 package com.smartbear.readyapi4j.local.execution;
 
+import com.eviware.soapui.model.iface.MessageExchange;
 import com.google.gson.Gson;
 import com.smartbear.readyapi4j.TestRecipe;
 import com.smartbear.readyapi4j.client.model.HarResponse;
 import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.client.model.TestStepResultReport;
 import com.smartbear.readyapi4j.execution.Execution;
 import com.smartbear.readyapi4j.execution.ExecutionListener;
 import com.smartbear.readyapi4j.extractor.ExtractorData;
@@ -14,6 +16,10 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import static com.smartbear.readyapi4j.TestRecipeBuilder.newTestRecipe;
 import static com.smartbear.readyapi4j.extractor.Extractors.fromProperty;
 import static com.smartbear.readyapi4j.teststeps.TestSteps.*;
@@ -96,6 +102,58 @@ public class SoapUIRecipeExecutorTest {
         assertEquals("{\"message\":\"Hello World\"}", harResponse.getContent().getText());
     }
 
+    @Test
+    public void retainsMessageExchangesOfStepEventsOnce() throws Exception {
+        executor.addExecutionListener(mock(ExecutionListener.class));
+        SoapUIRecipeExecution execution = (SoapUIRecipeExecution) executor.executeRecipe(
+                newTestRecipe(GET(serverURL).acceptsJson()).buildTestRecipe());
+
+        TestStepResultReport testStepResultReport = execution.getCurrentReport().getTestSuiteResultReports().get(0)
+                .getTestCaseResultReports().get(0).getTestStepResultReports().get(0);
+        MessageExchange messageExchange = execution.getMessageExchange(testStepResultReport);
+        assertThat(execution.estimateRetainedBytes(),
+                is((long) messageExchange.getRawRequestData().length + messageExchange.getRawResponseData().length));
+    }
+
+    @Test
+    public void keepsResultsOfExecutionWhoseProjectIsReused() throws Exception {
+        executor.withProjectCache(10, Long.MAX_VALUE);
+        SoapUIRecipeExecution first = (SoapUIRecipeExecution) executor.executeRecipe(
+                newTestRecipe(GET(serverURL).acceptsJson()).withProperty("run", "first").buildTestRecipe());
+        SoapUIRecipeExecution second = (SoapUIRecipeExecution) executor.executeRecipe(
+                newTestRecipe(GET(serverURL).acceptsJson()).withProperty("run", "second").buildTestRecipe());
+
+        assertThat(executor.getProjectCache().getHitCount(), is(1L));
+        assertThat(first.getProject(), is(nullValue()));
+        assertThat(first.getCurrentStatus(), is(TestJobReport.StatusEnum.FINISHED));
+        assertThat(first.getCurrentReport().getTestSuiteResultReports().get(0).getTestCaseResultReports().get(0)
+                .getProperties().get("run"), is("first"));
+        assertThat(second.getCurrentReport().getTestSuiteResultReports().get(0).getTestCaseResultReports().get(0)
+                .getProperties().get("run"), is("second"));
+        assertThat(first.getExecutionResult().getTestStepResult(0).getHarEntry().getResponse().getContent().getText(),
+                is("{\"message\":\"Hello World\"}"));
+    }
+
+    @Test
+    public void returnsProjectOfAsyncExecutionOnceRunnerHasReturned() throws Exception {
+        executor.withProjectCache(10, Long.MAX_VALUE);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            executor.withAsyncExecutor(executorService);
+            executor.submitRecipe(newTestRecipe(GET(serverURL).acceptsJson()).buildTestRecipe())
+                    .completion().get(20, TimeUnit.SECONDS);
+            // the project is returned by the task of the execution after it has been completed
+            executorService.submit(() -> null).get(20, TimeUnit.SECONDS);
+            assertThat(executor.getProjectCache().size(), is(1));
+
+            executor.submitRecipe(newTestRecipe(GET(serverURL).acceptsJson()).buildTestRecipe())
+                    .completion().get(20, TimeUnit.SECONDS);
+            assertThat(executor.getProjectCache().getHitCount(), is(1L));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
     @Test
     public void runsPropertyTransferRequest() {
         TestRecipe testRecipe = newTestRecipe(
@@ -143,6 +201,25 @@ public class SoapUIRecipeExecutorTest {
         verify(listenerMock, timeout(20000).times(1)).executionFinished(any());
     }
 
+    @Test
+    public void runsAsyncRecipeOnSuppliedExecutor() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            executor.withAsyncExecutor(executorService);
+            ExecutionListener listenerMock = mock(ExecutionListener.class);
+            executor.addExecutionListener(listenerMock);
+
+            Execution execution = executor.submitRecipe(buildPropertyTransferWithJsonPathExtractionTestRecipe());
+            execution.completion().get(20, TimeUnit.SECONDS);
+
+            assertThat(execution.getCurrentStatus(), is(TestJobReport.StatusEnum.FINISHED));
+            verify(listenerMock).executionStarted(any());
+            verify(listenerMock, timeout(1000).times(1)).executionFinished(any());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
     @Test
     public void extractsDataAfterRecipeExecution() {
         final String[] extractedProperty = {""};
@@ -0,0 +1,78 @@
+package com.smartbear.readyapi4j.local.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartbear.ready.recipe.teststeps.TestCaseStruct;
+import com.smartbear.readyapi4j.client.model.TestCase;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+import static com.smartbear.readyapi4j.TestRecipeBuilder.newTestRecipe;
+import static com.smartbear.readyapi4j.teststeps.TestSteps.GET;
+import static com.smartbear.readyapi4j.teststeps.TestSteps.POST;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TestCaseStructConverterTest {
+    private static final Logger logger = LoggerFactory.getLogger(TestCaseStructConverterTest.class);
+
+    @Test
+    public void convertsSameAsJsonRoundTrip() throws Exception {
+        TestCase testCase = newTestRecipe(
+                GET("http://localhost:8080/test")
+                        .named("Get")
+                        .assertValidStatusCodes("200"),
+                POST("http://localhost:8080/test")
+                        .named("Post")
+                        .withRequestBody("{\"message\":\"Hello World\"}")
+                        .withMediaType("application/json")
+        ).buildTestRecipe().getTestCase();
+
+        ObjectMapper mapper = TestCaseStructConverter.getObjectMapper();
+        String expected = mapper.writeValueAsString(convertViaString(testCase));
+        String actual = mapper.writeValueAsString(TestCaseStructConverter.toTestCaseStruct(testCase));
+
+        assertThat(actual, is(expected));
+    }
+
+    @Ignore("Manual benchmark comparing the TokenBuffer conversion with the former JSON string round-trip")
+    @Test
+    public void benchmarkConversion() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int c = 0; c < 20000; c++) {
+            body.append(c == 0 ? "" : ",").append("{\"id\":").append(c).append(",\"name\":\"item ").append(c).append("\"}");
+        }
+        TestCase testCase = newTestRecipe(
+                POST("http://localhost:8080/test")
+                        .withRequestBody(body.append("]").toString())
+                        .withMediaType("application/json")
+        ).buildTestRecipe().getTestCase();
+
+        int iterations = 500;
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            for (int c = 0; c < iterations; c++) {
+                convertViaString(testCase);
+            }
+            long stringRoundTrip = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int c = 0; c < iterations; c++) {
+                TestCaseStructConverter.toTestCaseStruct(testCase);
+            }
+            long tokenBuffer = System.nanoTime() - start;
+
+            logger.info(String.format("String round-trip: %d us/op, TokenBuffer: %d us/op",
+                    stringRoundTrip / iterations / 1000, tokenBuffer / iterations / 1000));
+        }
+    }
+
+    private TestCaseStruct convertViaString(TestCase testCase) throws IOException {
+        ObjectMapper mapper = TestCaseStructConverter.getObjectMapper();
+        String jsonText = mapper.writeValueAsString(testCase);
+        return mapper.readValue(jsonText, TestCaseStruct.class);
+    }
+}
@@ -1,17 +1,13 @@
 package com.smartbear.readyapi4j.testengine.execution;
 
 import com.smartbear.readyapi4j.client.model.TestJobReport;
-import com.smartbear.readyapi4j.execution.Execution;
 import com.smartbear.readyapi4j.execution.ExecutionListener;
 import com.smartbear.readyapi4j.extractor.DataExtractors;
 import com.smartbear.readyapi4j.extractor.ExtractorData;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.smartbear.readyapi4j.result.TestStepResult;
 
-import java.util.LinkedList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -24,22 +20,17 @@ abstract class AbstractTestEngineExecutor {
         REJECT
     }
 
-    private static Logger logger = LoggerFactory.getLogger(AbstractTestEngineExecutor.class);
-    private static final int NUMBER_OF_RETRIES_IN_CASE_OF_ERRORS = 3;
-
-    List<ExtractorData> extractorDataList = new LinkedList<>();
-
     private final PendingResonsePolicy pendingResonsePolicy;
     private final List<ExecutionListener> executionListeners = new CopyOnWriteArrayList<>();
 
-    final TestEngineClient testEngineClient;
+    final ExecutionSubmitter testEngineClient;
 
-    AbstractTestEngineExecutor(TestEngineClient testEngineClient, PendingResonsePolicy pendingResonsePolicy) {
+    AbstractTestEngineExecutor(ExecutionSubmitter testEngineClient, PendingResonsePolicy pendingResonsePolicy) {
         this.testEngineClient = testEngineClient;
         this.pendingResonsePolicy = pendingResonsePolicy;
     }
 
-    AbstractTestEngineExecutor(TestEngineClient testEngineClient) {
+    AbstractTestEngineExecutor(ExecutionSubmitter testEngineClient) {
         this(testEngineClient, PendingResonsePolicy.REJECT);
     }
 
@@ -56,7 +47,24 @@ abstract class AbstractTestEngineExecutor {
             for (ExecutionListener executionListener : executionListeners) {
                 executionListener.executionStarted(execution);
             }
-            new ExecutionStatusChecker(execution).start();
+            testEngineClient.getStatusPoller().poll(execution, new ExecutionStatusPoller.StatusHandler() {
+                @Override
+                public boolean statusReceived(TestJobReport report) {
+                    execution.addResultReport(report);
+                    notifyTestStepsFinished(execution);
+                    if (!TestJobReport.StatusEnum.RUNNING.equals(report.getStatus())) {
+                        notifyExecutionFinished(execution);
+                        return true;
+                    }
+                    return false;
+                }
+
+                @Override
+                public void pollingFailed(Exception e) {
+                    execution.takeExtractorData();
+                    execution.completeExceptionally(e);
+                }
+            });
         }
     }
 
@@ -66,49 +74,30 @@ abstract class AbstractTestEngineExecutor {
         }
     }
 
-    void notifyExecutionFinished(Execution execution) {
-        TestJobReport executionReport = execution.getCurrentReport();
-        DataExtractors.runDataExtractors(executionReport, extractorDataList);
-        for (ExecutionListener executionListener : executionListeners) {
-            executionListener.executionFinished(execution);
-        }
-    }
-
-    private class ExecutionStatusChecker {
-        private final Timer timer;
-
-        private final TestEngineExecution execution;
-
-        private int errorCount = 0;
-
-        ExecutionStatusChecker(TestEngineExecution execution) {
-            this.execution = execution;
-            timer = new Timer();
+    private void notifyTestStepsFinished(TestEngineExecution execution) {
+        if (executionListeners.isEmpty()) {
+            return;
         }
-
-        void start() {
-            timer.schedule(new CheckingExpireDateTask(), 1000, 1000);
+        for (TestStepResult testStepResult : execution.takeNewTestStepResults()) {
+            for (ExecutionListener executionListener : executionListeners) {
+                executionListener.testStepFinished(execution, testStepResult);
+            }
         }
+    }
 
-        class CheckingExpireDateTask extends TimerTask {
-            @Override
-            public void run() {
-                try {
-                    TestJobReport executionStatus = testEngineClient.getExecutionStatus(execution.getId());
-                    execution.addResultReport(executionStatus);
-                    if (!TestJobReport.StatusEnum.RUNNING.equals(executionStatus.getStatus())) {
-                        notifyExecutionFinished(execution);
-                        timer.cancel();
-                    }
-                    errorCount = 0;
-                } catch (Exception e) {
-                    if (errorCount > NUMBER_OF_RETRIES_IN_CASE_OF_ERRORS) {
-                        timer.cancel();
-                    }
-                    logger.debug("Error while checking for execution status", e);
-                    errorCount++;
-                }
+    void notifyExecutionFinished(TestEngineExecution execution) {
+        try {
+            notifyTestStepsFinished(execution);
+            ExtractorData extractorData = execution.takeExtractorData();
+            if (extractorData != null) {
+                DataExtractors.runDataExtractors(execution.getCurrentReport(),
+                        Collections.singletonMap(extractorData.getExtractorDataId(), extractorData));
+            }
+            for (ExecutionListener executionListener : executionListeners) {
+                executionListener.executionFinished(execution);
             }
+        } finally {
+            execution.complete();
         }
     }
 }
@@ -0,0 +1,202 @@
+package com.smartbear.readyapi4j.testengine.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of submissions sent to a TestEngine at the same time, adapting the limit to how the TestEngine
+ * copes (additive increase, multiplicative decrease). The limit grows by one after each successful submission that
+ * used the whole limit, is cut by 10% when a submission takes much longer than the fastest recent ones, and is halved
+ * when the TestEngine answers 429. After a 429 no submissions are sent until the Retry-After time has passed, after
+ * which the rejected submission is retried.
+ * <p>
+ * The latency signal is most useful for asynchronous submissions; synchronous submissions take as long as the
+ * execution itself, so set a high latency tolerance when executing recipes of very different length synchronously.
+ */
+
+public class AdaptiveConcurrencyLimiter {
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    static final long DEFAULT_RETRY_AFTER_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private static final double LATENCY_DECREASE_FACTOR = 0.9;
+    private static final double RATE_LIMITED_DECREASE_FACTOR = 0.5;
+    private static final double BASELINE_DRIFT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicLong rateLimitedCount = new AtomicLong();
+    private volatile double latencyTolerance = 2.0;
+    private volatile int maxRetries = 3;
+    private int limit;
+    private int inFlight;
+    private long blockedUntil;
+    private double baselineLatencyNanos;
+
+    /**
+     * @param initialLimit the number of concurrent submissions allowed at first
+     * @param minLimit     the limit is never decreased below this
+     * @param maxLimit     the limit is never increased above this
+     */
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * @param latencyTolerance how many times slower than the fastest recent submissions a submission may be before the
+     *                         limit is decreased
+     */
+
+    public AdaptiveConcurrencyLimiter withLatencyTolerance(double latencyTolerance) {
+        if (latencyTolerance < 1) {
+            throw new IllegalArgumentException("latencyTolerance must be at least 1");
+        }
+        this.latencyTolerance = latencyTolerance;
+        return this;
+    }
+
+    /**
+     * @param maxRetries how many times a submission rejected with 429 is retried before the UsageLimitException is
+     *                   thrown to the caller
+     */
+
+    public AdaptiveConcurrencyLimiter withMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    /**
+     * @return the number of submissions currently allowed at the same time
+     */
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the number of submissions currently being sent
+     */
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * @return the number of submissions the TestEngine has rejected with 429
+     */
+
+    public long getRateLimitedCount() {
+        return rateLimitedCount.get();
+    }
+
+    /**
+     * Sends a submission once the limit allows it, retrying it if it is rejected with 429
+     */
+
+    <T> T execute(Supplier<T> submission) {
+        for (int attempt = 0; ; attempt++) {
+            acquire();
+            long startTime = System.nanoTime();
+            try {
+                T result = submission.get();
+                onSuccess(System.nanoTime() - startTime);
+                return result;
+            } catch (UsageLimitException e) {
+                long retryAfter = retryAfterMillis(e, DEFAULT_RETRY_AFTER_MILLIS);
+                onRateLimited(retryAfter);
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                LOG.debug("Submission rejected by TestEngine, retrying after " + retryAfter + " ms");
+            } catch (RuntimeException e) {
+                onFailure();
+                throw e;
+            }
+        }
+    }
+
+    private synchronized void acquire() {
+        try {
+            while (true) {
+                long blockedFor = blockedUntil - System.currentTimeMillis();
+                if (blockedFor > 0) {
+                    wait(blockedFor);
+                } else if (inFlight >= limit) {
+                    wait();
+                } else {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(e);
+        }
+        inFlight++;
+    }
+
+    private synchronized void onSuccess(long latencyNanos) {
+        boolean saturated = inFlight >= limit;
+        inFlight--;
+        if (baselineLatencyNanos == 0 || latencyNanos < baselineLatencyNanos) {
+            baselineLatencyNanos = latencyNanos;
+        } else {
+            baselineLatencyNanos += (latencyNanos - baselineLatencyNanos) * BASELINE_DRIFT;
+        }
+
+        if (latencyNanos > baselineLatencyNanos * latencyTolerance) {
+            limit = Math.max(minLimit, (int) (limit * LATENCY_DECREASE_FACTOR));
+        } else if (saturated) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        notifyAll();
+    }
+
+    private synchronized void onRateLimited(long retryAfterMillis) {
+        rateLimitedCount.incrementAndGet();
+        inFlight--;
+        limit = Math.max(minLimit, (int) (limit * RATE_LIMITED_DECREASE_FACTOR));
+        blockedUntil = Math.max(blockedUntil, System.currentTimeMillis() + retryAfterMillis);
+        notifyAll();
+    }
+
+    private synchronized void onFailure() {
+        inFlight--;
+        notifyAll();
+    }
+
+    /**
+     * @return the time to wait as specified by the Retry-After header of a response, in seconds or as an HTTP date
+     */
+
+    static long retryAfterMillis(ApiException e, long defaultMillis) {
+        String retryAfter = e.getHeaders() == null ? null : e.getHeaders().getFirst("Retry-After");
+        if (retryAfter == null) {
+            return defaultMillis;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException ignored) {
+            // not a number of seconds, so it should be a date
+        }
+        try {
+            long retryAt = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli();
+            return Math.max(0, retryAt - System.currentTimeMillis());
+        } catch (DateTimeParseException ignored) {
+            return defaultMillis;
+        }
+    }
+}
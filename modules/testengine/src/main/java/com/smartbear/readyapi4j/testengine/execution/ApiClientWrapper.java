@@ -1,22 +1,21 @@
 package com.smartbear.readyapi4j.testengine.execution;
 
-import com.fasterxml.jackson.annotation.JsonAutoDetect;
-import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.joda.JodaModule;
 import com.smartbear.readyapi4j.ApiClient;
 import com.smartbear.readyapi4j.Authentication;
 import com.smartbear.readyapi4j.Pair;
+import com.smartbear.readyapi4j.support.ObjectMapperRegistry;
 import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientHandler;
+import com.sun.jersey.api.client.ClientHandlerException;
+import com.sun.jersey.api.client.ClientRequest;
 import com.sun.jersey.api.client.ClientResponse;
 import com.sun.jersey.api.client.GenericType;
 import com.sun.jersey.api.client.WebResource;
 import com.sun.jersey.api.client.config.ClientConfig;
 import com.sun.jersey.api.client.config.DefaultClientConfig;
+import com.sun.jersey.api.client.filter.ClientFilter;
 import com.sun.jersey.client.urlconnection.HTTPSProperties;
 import com.sun.jersey.multipart.FormDataMultiPart;
 import com.sun.jersey.multipart.file.FileDataBodyPart;
@@ -27,10 +26,14 @@ import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
@@ -39,6 +42,14 @@ import java.security.cert.X509Certificate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Most of this code is auto generated, with additional code for accepting self-signed server certificates.
@@ -47,16 +58,100 @@ public class ApiClientWrapper extends ApiClient {
 
     private static final Logger logger = LoggerFactory.getLogger(ApiClientWrapper.class);
 
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 16;
+    private static final String GZIP = "gzip";
+
     private Client client;
+    private ClientHandler clientHandler;
+    private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+    private ThreadPoolExecutor requestExecutor;
+    private volatile int requestCompressionThreshold = -1;
+    private ObjectMapper testEngineMapper;
+
+    /**
+     * Sets the Jersey ClientHandler used to send requests, for example one based on Apache HttpClient with a pooling
+     * connection manager. By default requests are sent with HttpURLConnection, accepting any server certificate.
+     *
+     * @param clientHandler the handler to send requests with, null to use the default
+     */
+    public synchronized void setClientHandler(ClientHandler clientHandler) {
+        this.clientHandler = clientHandler;
+        this.client = null;
+    }
+
+    /**
+     * @param maxConcurrentRequests the maximum number of asynchronous requests sent at the same time, further requests
+     *                              are queued
+     */
+    public synchronized void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests must be at least 1");
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        if (requestExecutor != null) {
+            if (maxConcurrentRequests > requestExecutor.getMaximumPoolSize()) {
+                requestExecutor.setMaximumPoolSize(maxConcurrentRequests);
+                requestExecutor.setCorePoolSize(maxConcurrentRequests);
+            } else {
+                requestExecutor.setCorePoolSize(maxConcurrentRequests);
+                requestExecutor.setMaximumPoolSize(maxConcurrentRequests);
+            }
+        }
+    }
+
+    /**
+     * Enables gzip compression of request bodies. The TestEngine must accept gzip encoded requests for this to work,
+     * which is why it is disabled by default. Responses are always requested with gzip encoding.
+     *
+     * @param thresholdBytes the minimum size of a serialized body for it to be compressed, negative to disable
+     *                       compression
+     */
+    public void setRequestCompressionThreshold(int thresholdBytes) {
+        this.requestCompressionThreshold = thresholdBytes;
+    }
+
+    /**
+     * Sends a request on the bounded pool of request threads of this client
+     *
+     * @param request the blocking request to send
+     * @return a future that is completed with the result of the request
+     */
+    <T> CompletableFuture<T> supplyAsync(Supplier<T> request) {
+        return CompletableFuture.supplyAsync(request, getRequestExecutor());
+    }
+
+    synchronized ThreadPoolExecutor getRequestExecutor() {
+        if (requestExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            requestExecutor = new ThreadPoolExecutor(maxConcurrentRequests, maxConcurrentRequests, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "TestEngineRequest-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            requestExecutor.allowCoreThreadTimeOut(true);
+        }
+        return requestExecutor;
+    }
 
     public <T> T invokeAPI(String path, String method, List<Pair> queryParams, Object body, Map<String, File> formParams, String accept, String contentType, String[] authNames, GenericType<T> returnType) throws ApiException {
         Map<String, String> headerParams = new HashMap<>();
         updateAuthParams(authNames, queryParams, headerParams);
+        return invokeAPI(path, method, queryParams, body, formParams, accept, contentType, headerParams, returnType);
+    }
 
-        createClientIfNull();
-        if (client == null) {
-            throw new IllegalStateException("Could not create client instance");
-        }
+    /**
+     * Sends a request authenticated with the specified authentication instead of the ones configured for this client,
+     * so requests with different credentials can be sent concurrently
+     */
+    public <T> T invokeAPI(String path, String method, List<Pair> queryParams, Object body, Map<String, File> formParams, String accept, String contentType, Authentication authentication, GenericType<T> returnType) throws ApiException {
+        Map<String, String> headerParams = new HashMap<>();
+        authentication.applyToParams(queryParams, headerParams);
+        return invokeAPI(path, method, queryParams, body, formParams, accept, contentType, headerParams, returnType);
+    }
+
+    private <T> T invokeAPI(String path, String method, List<Pair> queryParams, Object body, Map<String, File> formParams, String accept, String contentType, Map<String, String> headerParams, GenericType<T> returnType) throws ApiException {
+        Client client = getClient();
 
         String queryString = createQueryString(queryParams);
 
@@ -95,6 +190,11 @@ public class ApiClientWrapper extends ApiClient {
                 response = builder.type(contentType).post(ClientResponse.class, requestBody);
             } else {
                 Object content = serialize(requestBody, contentType);
+                byte[] compressedContent = compress(content);
+                if (compressedContent != null) {
+                    builder = builder.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+                    content = compressedContent;
+                }
                 response = builder.type(contentType).post(ClientResponse.class, content);
             }
         } else if ("PUT".equals(method)) {
@@ -130,6 +230,35 @@ public class ApiClientWrapper extends ApiClient {
         }
     }
 
+    /**
+     * @return the gzip compressed content, null if the content should be sent as is
+     */
+    byte[] compress(Object content) throws ApiException {
+        int threshold = requestCompressionThreshold;
+        if (threshold < 0) {
+            return null;
+        }
+        byte[] data;
+        if (content instanceof byte[]) {
+            data = (byte[]) content;
+        } else if (content instanceof String) {
+            data = ((String) content).getBytes(StandardCharsets.UTF_8);
+        } else {
+            return null;
+        }
+        if (data.length < threshold) {
+            return null;
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(32, data.length / 4));
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+            gzipStream.write(data);
+        } catch (IOException e) {
+            throw new ApiException(e);
+        }
+        return compressed.toByteArray();
+    }
+
     private String createQueryString(List<Pair> queryParams) {
         StringBuilder builder = new StringBuilder("?");
         if (queryParams != null) {
@@ -156,29 +285,50 @@ public class ApiClientWrapper extends ApiClient {
         return null;
     }
 
-    private void createClientIfNull() {
+    private synchronized Client getClient() {
         if (this.client == null) {
             try {
-                ClientConfig clientConfig = getClientConfigWithoutCertificateValidation();
-                this.client = Client.create(clientConfig);
+                if (clientHandler != null) {
+                    this.client = new Client(clientHandler, new DefaultClientConfig());
+                } else {
+                    ClientConfig clientConfig = getClientConfigWithoutCertificateValidation();
+                    this.client = Client.create(clientConfig);
+                }
+                // Jersey's GZIPContentEncodingFilter would compress bodies that invokeAPI has already compressed
+                this.client.addFilter(new GzipResponseFilter());
             } catch (Exception e) {
                 throw new IllegalStateException("Couldn't create instance of Client.", e);
             }
         }
+        return client;
+    }
+
+    /**
+     * Requests gzip encoded responses and decompresses them, leaving request bodies as they are
+     */
+    private static class GzipResponseFilter extends ClientFilter {
+        @Override
+        public ClientResponse handle(ClientRequest request) throws ClientHandlerException {
+            if (!request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+                request.getHeaders().add(HttpHeaders.ACCEPT_ENCODING, GZIP);
+            }
+            ClientResponse response = getNext().handle(request);
+            if (response.hasEntity() && GZIP.equals(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))) {
+                response.getHeaders().remove(HttpHeaders.CONTENT_ENCODING);
+                try {
+                    response.setEntityInputStream(new GZIPInputStream(response.getEntityInputStream()));
+                } catch (IOException e) {
+                    throw new ClientHandlerException(e);
+                }
+            }
+            return response;
+        }
     }
 
     public Object serialize(Object obj, String contentType) throws ApiException {
         try {
             if (contentType.startsWith("application/json") && !(obj instanceof byte[])) {
-                ObjectMapper mapper = getObjectMapper();
-                mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-                mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
-                mapper.setVisibility(mapper.getSerializationConfig().getDefaultVisibilityChecker()
-                        .withFieldVisibility(JsonAutoDetect.Visibility.ANY)
-                        .withGetterVisibility(JsonAutoDetect.Visibility.NONE)
-                        .withSetterVisibility(JsonAutoDetect.Visibility.NONE)
-                        .withCreatorVisibility(JsonAutoDetect.Visibility.NONE));
-                return mapper.writeValueAsString(obj);
+                return ObjectMapperRegistry.testEngineRequestWriter().writeValueAsString(obj);
             } else {
                 return obj;
             }
@@ -188,12 +338,12 @@ public class ApiClientWrapper extends ApiClient {
     }
 
     @Override
-    public ObjectMapper getObjectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        mapper.registerModule(new JodaModule());
-        return mapper;
+    public synchronized ObjectMapper getObjectMapper() {
+        // copied on first use, the ApiClient constructor may ask for it before the fields of this class are set
+        if (testEngineMapper == null) {
+            testEngineMapper = ObjectMapperRegistry.copyTestEngineMapper();
+        }
+        return testEngineMapper;
     }
 
     private void updateAuthParams(String[] authNames, List<Pair> queryParams, Map<String, String> headerParams) {
@@ -206,7 +356,7 @@ public class ApiClientWrapper extends ApiClient {
         }
     }
 
-    private <T> T deserialize(ClientResponse response, GenericType<T> returnType) throws ApiException {
+    <T> T deserialize(ClientResponse response, GenericType<T> returnType) throws ApiException {
         String contentType = null;
         List<String> contentTypes = response.getHeaders().get("Content-Type");
         if (contentTypes != null && !contentTypes.isEmpty()) {
@@ -216,23 +366,28 @@ public class ApiClientWrapper extends ApiClient {
             throw new ApiException(500, "missing Content-Type in response");
         }
 
-        String body = "";
-        if (response.hasEntity()) {
-            body = response.getEntity(String.class);
+        if (!contentType.startsWith("application/json")) {
+            throw new ApiException(500, "can not deserialize Content-Type: " + contentType);
         }
 
-        if (contentType.startsWith("application/json")) {
+        // the body is only read into a String when it may be returned as is or should be available for debugging,
+        // large reports are parsed straight from the response stream
+        if (!response.hasEntity() || isDebugging() || returnType.getType().equals(String.class)) {
+            String body = response.hasEntity() ? response.getEntity(String.class) : "";
             return deserialize(returnType, body);
-        } else {
-            throw new ApiException(500, "can not deserialize Content-Type: " + contentType);
+        }
+
+        try (InputStream entityStream = response.getEntityInputStream()) {
+            return ObjectMapperRegistry.testEngineReader(returnType.getType()).readValue(entityStream);
+        } catch (IOException e) {
+            logger.error("Failed to deserialize response body.", e);
+            throw new ApiException(500, e.getMessage());
         }
     }
 
     private <T> T deserialize(GenericType<T> returnType, String body) throws ApiException {
-        ObjectMapper mapper = getObjectMapper();
-        JavaType javaType = mapper.constructType(returnType.getType());
         try {
-            return mapper.readValue(body, javaType);
+            return ObjectMapperRegistry.testEngineReader(returnType.getType()).readValue(body);
         } catch (IOException e) {
             logger.error("Failed to deserialize response body.", e);
             if (returnType.getType().equals(String.class)) {
@@ -0,0 +1,65 @@
+package com.smartbear.readyapi4j.testengine.execution;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.smartbear.readyapi4j.Authentication;
+import com.smartbear.readyapi4j.HttpBasicAuth;
+import com.smartbear.readyapi4j.Pair;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Immutable Authorization header for the credentials of an HttpBasicAuth. The header is computed once per HttpBasicAuth
+ * and recomputed only if its credentials change, so requests with different credentials can be sent concurrently
+ * through a shared ApiClientWrapper.
+ */
+
+final class BasicAuthHeader implements Authentication {
+    private static final Cache<HttpBasicAuth, BasicAuthHeader> HEADERS = CacheBuilder.newBuilder().weakKeys().build();
+
+    private final String username;
+    private final String password;
+    private final String value;
+
+    private BasicAuthHeader(String username, String password) {
+        this.username = username;
+        this.password = password;
+        if (username == null && password == null) {
+            value = null;
+        } else {
+            String credentials = (username == null ? "" : username) + ":" + (password == null ? "" : password);
+            value = "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(UTF_8));
+        }
+    }
+
+    /**
+     * @return the header for the current credentials of the specified HttpBasicAuth
+     */
+
+    static BasicAuthHeader of(HttpBasicAuth auth) {
+        String username = auth.getUsername();
+        String password = auth.getPassword();
+        BasicAuthHeader header = HEADERS.getIfPresent(auth);
+        if (header == null || !Objects.equals(header.username, username) || !Objects.equals(header.password, password)) {
+            header = new BasicAuthHeader(username, password);
+            HEADERS.put(auth, header);
+        }
+        return header;
+    }
+
+    String getValue() {
+        return value;
+    }
+
+    @Override
+    public void applyToParams(List<Pair> queryParams, Map<String, String> headerParams) {
+        if (value != null) {
+            headerParams.put("Authorization", value);
+        }
+    }
+}
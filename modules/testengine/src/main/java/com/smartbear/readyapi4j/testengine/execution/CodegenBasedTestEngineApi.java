@@ -1,23 +1,23 @@
 package com.smartbear.readyapi4j.testengine.execution;
 
-import com.google.common.collect.Lists;
+import com.smartbear.readyapi4j.Authentication;
 import com.smartbear.readyapi4j.HttpBasicAuth;
 import com.smartbear.readyapi4j.Pair;
 import com.smartbear.readyapi4j.TestRecipe;
 import com.smartbear.readyapi4j.client.model.*;
+import com.smartbear.readyapi4j.support.ObjectMapperRegistry;
 import com.smartbear.readyapi4j.teststeps.TestSteps;
+import com.sun.jersey.api.client.ClientHandler;
 import com.sun.jersey.api.client.GenericType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.*;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static com.smartbear.readyapi4j.teststeps.TestSteps.HttpMethod.POST;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -58,7 +58,6 @@ public class CodegenBasedTestEngineApi implements TestEngineApi {
             throw new ApiException(400, "Missing the required parameter 'testRecipe' when calling postTestRecipe");
         }
         verifyDataSourceFilesExist(testRecipe.getTestCase());
-        setAuthentication(auth);
 
         // create path and map variables
         String path = ServerDefaults.SERVICE_BASE_PATH + "/testjobs/recipe";
@@ -67,8 +66,17 @@ public class CodegenBasedTestEngineApi implements TestEngineApi {
         List<Pair> queryParams = new ArrayList<>();
         queryParams.add(new Pair("async", String.valueOf(async)));
 
+        byte[] body = testRecipe.toJsonBytes(ObjectMapperRegistry.testEngineRequestWriter());
         Map<String, File> formParams = new HashMap<>();
-        return invokeAPI(path, POST.name(), testRecipe.getTestCase(), APPLICATION_JSON, queryParams, formParams);
+        return invokeAPI(path, POST.name(), body, APPLICATION_JSON, queryParams, formParams, auth);
+    }
+
+    /**
+     * Sends the recipe on the request threads of the underlying ApiClientWrapper
+     */
+    @Override
+    public CompletableFuture<TestJobReport> postTestRecipeAsync(TestRecipe testRecipe, boolean async, HttpBasicAuth auth) {
+        return apiClient.supplyAsync(() -> postTestRecipe(testRecipe, async, auth));
     }
 
     private void verifyDataSourceFilesExist(TestCase testCase) {
@@ -111,11 +119,10 @@ public class CodegenBasedTestEngineApi implements TestEngineApi {
         if (executionID == null) {
             throw new ApiException(400, "Missing the required parameter 'executionID' when calling cancelExecution");
         }
-        setAuthentication(auth);
         String path = ServerDefaults.SERVICE_BASE_PATH + "/executions/" + executionID;
 
         return invokeAPI(path, TestSteps.HttpMethod.DELETE.name(), null, APPLICATION_JSON, new ArrayList<Pair>(),
-                new HashMap<String, File>());
+                new HashMap<String, File>(), auth);
 
     }
 
@@ -130,11 +137,10 @@ public class CodegenBasedTestEngineApi implements TestEngineApi {
         if (executionID == null) {
             throw new ApiException(400, "Missing the required parameter 'executionID' when calling cancelExecution");
         }
-        setAuthentication(auth);
         String path = ServerDefaults.SERVICE_BASE_PATH + "/executions/" + executionID + "/transactions/" + transactionId;
 
         return getTransactionLog(path, TestSteps.HttpMethod.GET.name(), null, APPLICATION_JSON, new ArrayList<Pair>(),
-                new HashMap<String, File>());
+                new HashMap<String, File>(), auth);
 
     }
 
@@ -182,42 +188,79 @@ public class CodegenBasedTestEngineApi implements TestEngineApi {
         if (executionID == null) {
             throw new ApiException(400, "Missing the required parameter 'executionID' when calling getExecutionStatus");
         }
-        setAuthentication(auth);
 
         // create path and map variables
         String path = ServerDefaults.SERVICE_BASE_PATH + "/executions/" + executionID + "/status";
 
-        return invokeAPI(path, TestSteps.HttpMethod.GET.name(), null, APPLICATION_JSON, new ArrayList<Pair>());
+        return invokeAPI(path, TestSteps.HttpMethod.GET.name(), null, APPLICATION_JSON, new ArrayList<Pair>(), auth);
     }
 
-    private void setAuthentication(HttpBasicAuth auth) {
-        if (auth != null) {
-            apiClient.setUsername(auth.getUsername());
-            apiClient.setPassword(auth.getPassword());
-        }
+    /**
+     * @return the request threads of the underlying ApiClientWrapper, for requests of an execution that are sent
+     * concurrently
+     */
+    Executor getRequestExecutor() {
+        return apiClient.getRequestExecutor();
+    }
+
+    /**
+     * Requests the status on the request threads of the underlying ApiClientWrapper
+     */
+    @Override
+    public CompletableFuture<TestJobReport> getExecutionStatusAsync(String executionID, HttpBasicAuth auth) {
+        return apiClient.supplyAsync(() -> getExecutionStatus(executionID, auth));
+    }
+
+    /**
+     * @param clientHandler the Jersey ClientHandler to send requests with, for example one with a pooling connection
+     *                      manager; null to use the default HttpURLConnection based handler
+     */
+    public void setClientHandler(ClientHandler clientHandler) {
+        apiClient.setClientHandler(clientHandler);
+    }
+
+    /**
+     * @param maxConcurrentRequests the maximum number of asynchronous requests sent at the same time
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        apiClient.setMaxConcurrentRequests(maxConcurrentRequests);
+    }
+
+    /**
+     * @param thresholdBytes recipes and projects of at least this size are sent gzip compressed, negative to send all
+     *                       requests uncompressed
+     */
+    public void setRequestCompressionThreshold(int thresholdBytes) {
+        apiClient.setRequestCompressionThreshold(thresholdBytes);
+    }
+
+    /**
+     * @return the credentials of the request, which are never written to the shared ApiClientWrapper so that requests
+     * with different credentials can be sent concurrently; the credentials of the ApiClientWrapper if auth is null
+     */
+    private Authentication getAuthentication(HttpBasicAuth auth) {
+        return auth == null ? apiClient.getAuthentication("basicAuth") : BasicAuthHeader.of(auth);
     }
 
     private TestJobReport invokeAPI(String path, String method, Object postBody, String contentType,
-                                    List<Pair> queryParams) throws ApiException {
-        return invokeAPI(path, method, postBody, contentType, queryParams, new HashMap<String, File>());
+                                    List<Pair> queryParams, HttpBasicAuth auth) throws ApiException {
+        return invokeAPI(path, method, postBody, contentType, queryParams, new HashMap<String, File>(), auth);
     }
 
     private TestJobReport invokeAPI(String path, String method, Object postBody, String contentType,
-                                    List<Pair> queryParams, Map<String, File> formParams) throws ApiException {
+                                    List<Pair> queryParams, Map<String, File> formParams, HttpBasicAuth auth)
+            throws ApiException {
 
         return (TestJobReport) apiClient.invokeAPI(path, method, queryParams, postBody, formParams, APPLICATION_JSON, contentType,
-                getAuthNames(), getReturnTypeProjectResultReport());
+                getAuthentication(auth), getReturnTypeProjectResultReport());
     }
 
     private HarLogRoot getTransactionLog(String path, String method, Object postBody, String contentType,
-                                         List<Pair> queryParams, Map<String, File> formParams) throws ApiException {
+                                         List<Pair> queryParams, Map<String, File> formParams, HttpBasicAuth auth)
+            throws ApiException {
 
         return (HarLogRoot) apiClient.invokeAPI(path, method, queryParams, postBody, formParams, APPLICATION_JSON, contentType,
-                getAuthNames(), getReturnTypeHarLogRoot());
-    }
-
-    private String[] getAuthNames() {
-        return new String[]{"basicAuth"};
+                getAuthentication(auth), getReturnTypeHarLogRoot());
     }
 
     private GenericType getReturnTypeProjectResultReport() {
@@ -243,37 +286,40 @@ public class CodegenBasedTestEngineApi implements TestEngineApi {
             throw new ApiException(404, "File [" + projectFile.toString() + "] not found");
         }
 
-        setAuthentication(auth);
-
         List<Pair> queryParams = buildQueryParameters(executionRequest, async);
 
-        String path = ServerDefaults.SERVICE_BASE_PATH + "/testjobs";
-        String type = "application/xml";
-
         try {
             // composite project?
             if (projectFile.isDirectory()) {
-                projectFile = zipCompositeProject(projectFile);
-                type = "application/zip";
-            }
-
-            if (executionRequest.getCustomPropertiesMap().isEmpty()) {
-                byte[] data = Files.readAllBytes(projectFile.toPath());
-                return invokeAPI(path, POST.name(), data, type, queryParams, null);
-            } else {
-                File propertiesFile = writeCustomPropertiesToFile(executionRequest.getCustomPropertiesMap().values());
-
-                Map<String, File> formParams = new HashMap<>();
-                formParams.put(projectFile.getName(), projectFile);
-                formParams.put(propertiesFile.getName(), propertiesFile);
-                return invokeAPI(path, POST.name(), null, "multipart/form-data", queryParams, formParams);
+                // the archive isn't deleted before it has been sent
+                try (CompositeProjectArchiver.Archive archive =
+                             CompositeProjectArchiver.getInstance().archive(projectFile)) {
+                    return postProjectFile(executionRequest, archive.getFile(), "application/zip", queryParams, auth);
+                }
             }
-
+            return postProjectFile(executionRequest, projectFile, "application/xml", queryParams, auth);
         } catch (IOException e) {
             throw new ApiException(500, "Failed to read project; " + e.toString());
         }
     }
 
+    private TestJobReport postProjectFile(ProjectExecutionRequest executionRequest, File projectFile, String type,
+                                          List<Pair> queryParams, HttpBasicAuth auth) throws IOException {
+        String path = ServerDefaults.SERVICE_BASE_PATH + "/testjobs";
+        if (executionRequest.getCustomPropertiesMap().isEmpty()) {
+            // archives are streamed from disk, they don't benefit from request compression
+            Object data = type.equals("application/zip") ? projectFile : Files.readAllBytes(projectFile.toPath());
+            return invokeAPI(path, POST.name(), data, type, queryParams, null, auth);
+        } else {
+            File propertiesFile = writeCustomPropertiesToFile(executionRequest.getCustomPropertiesMap().values());
+
+            Map<String, File> formParams = new HashMap<>();
+            formParams.put(projectFile.getName(), projectFile);
+            formParams.put(propertiesFile.getName(), propertiesFile);
+            return invokeAPI(path, POST.name(), null, "multipart/form-data", queryParams, formParams, auth);
+        }
+    }
+
     private File writeCustomPropertiesToFile(Collection<CustomProperties> values) throws ApiException {
         try {
             String content = (String) getApiClient().serialize(values, APPLICATION_JSON);
@@ -309,52 +355,4 @@ public class CodegenBasedTestEngineApi implements TestEngineApi {
         }
         return queryParams;
     }
-
-    private File zipCompositeProject(File dir) throws IOException {
-        File zipFile = File.createTempFile("soapui-project", ".zip");
-        zipFile.deleteOnExit();
-
-        byte[] buffer = new byte[1024];
-
-        try (
-                FileOutputStream fout = new FileOutputStream(zipFile);
-                ZipOutputStream zout = new ZipOutputStream(fout)) {
-
-            List<String> files = Lists.newArrayList();
-            populateFilesList(dir, files);
-
-            for (String fileName : files) {
-                File file = new File(fileName);
-
-                try (FileInputStream fin = new FileInputStream(file)) {
-                    String zipEntryName = fileName.substring(dir.getAbsolutePath().length());
-                    zout.putNextEntry(new ZipEntry(zipEntryName));
-
-                    int length;
-
-                    while ((length = fin.read(buffer)) > 0) {
-                        zout.write(buffer, 0, length);
-                    }
-
-                    zout.closeEntry();
-                }
-            }
-        }
-
-        return zipFile;
-    }
-
-    private void populateFilesList(File dir, List<String> files) throws IOException {
-        File[] filesInDir = dir.listFiles();
-        if (filesInDir == null || filesInDir.length == 0) {
-            return;
-        }
-        for (File file : filesInDir) {
-            if (file.isFile()) {
-                files.add(file.getAbsolutePath());
-            } else {
-                populateFilesList(file, files);
-            }
-        }
-    }
 }
@@ -0,0 +1,548 @@
+package com.smartbear.readyapi4j.testengine.execution;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.CountingOutputStream;
+import com.google.common.util.concurrent.Striped;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Zips composite projects for submission to a TestEngine. The files of a project are deflated in parallel and written
+ * to the archive in order, so at most a few compressed files are held in memory at a time. Files larger than the
+ * streaming threshold are not held in memory at all but deflated straight into the archive.
+ * <p>
+ * Archives are kept in a temporary directory under a hash of the paths, sizes and modification times of the project's
+ * files, so an unchanged project is only zipped once. Only the latest archive of each project directory is kept, and
+ * the least recently used archives are deleted when the archives together grow beyond the configured size. Archives
+ * are handed out as {@link Archive} handles, an archive that is outdated or evicted is only deleted once all handles
+ * to it have been closed.
+ */
+
+class CompositeProjectArchiver {
+    private static final Logger LOG = LoggerFactory.getLogger(CompositeProjectArchiver.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_ENTRIES = 0xFFFF;
+    private static final long MAX_SIZE = 0xFFFFFFFFL;
+    private static final int UTF8_NAMES_FLAG = 0x800;
+
+    private static final long DEFAULT_MAX_CACHE_SIZE = 512 * 1024 * 1024;
+    private static final long DEFAULT_STREAMING_THRESHOLD = 1024 * 1024;
+
+    private static CompositeProjectArchiver instance;
+
+    private final File cacheDirectory;
+    private final long maxCacheSize;
+    private final int parallelism;
+    private final long streamingThreshold;
+    private final Executor compressionExecutor;
+    // zipping is serialized per project directory, not across directories
+    private final Striped<Lock> directoryLocks = Striped.lock(64);
+    // guarded by archives, which is ordered from least to most recently used
+    private final Map<File, CachedArchive> archives = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, File> latestArchives = new HashMap<>();
+    private long cacheSize;
+
+    CompositeProjectArchiver(File cacheDirectory, long maxCacheSize, int parallelism, Executor compressionExecutor) {
+        this(cacheDirectory, maxCacheSize, parallelism, DEFAULT_STREAMING_THRESHOLD, compressionExecutor);
+    }
+
+    /**
+     * @param streamingThreshold the size above which files are deflated straight into the archive instead of in
+     *                           parallel, which bounds the compressed data held in memory to parallelism * 2 times
+     *                           this size
+     */
+
+    CompositeProjectArchiver(File cacheDirectory, long maxCacheSize, int parallelism, long streamingThreshold,
+                             Executor compressionExecutor) {
+        this.cacheDirectory = cacheDirectory;
+        this.maxCacheSize = maxCacheSize;
+        this.parallelism = parallelism;
+        this.streamingThreshold = streamingThreshold;
+        this.compressionExecutor = compressionExecutor;
+    }
+
+    /**
+     * @return the archiver shared by all clients of this process, which keeps its archives in a temporary directory
+     * that only the current user can access and that is deleted when the process exits
+     */
+
+    static synchronized CompositeProjectArchiver getInstance() throws IOException {
+        if (instance == null) {
+            File cacheDirectory = Files.createTempDirectory("readyapi4j-composite-projects").toFile();
+            instance = new CompositeProjectArchiver(cacheDirectory, DEFAULT_MAX_CACHE_SIZE,
+                    Runtime.getRuntime().availableProcessors(), createCompressionExecutor());
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteDirectory(cacheDirectory),
+                    "CompositeProjectArchiver-cleanup"));
+        }
+        return instance;
+    }
+
+    /**
+     * @param dir the directory of a composite project
+     * @return a handle to a zip archive with all files in the directory, reused if none of the files has changed since
+     * it was created; the handle must be closed when the archive has been read
+     */
+
+    Archive archive(File dir) throws IOException {
+        List<File> files = new ArrayList<>();
+        populateFilesList(dir, files);
+
+        Hasher hasher = Hashing.sha256().newHasher().putString(dir.getAbsolutePath(), UTF_8);
+        for (File file : files) {
+            hasher.putString(file.getAbsolutePath(), UTF_8).putLong(file.length()).putLong(file.lastModified());
+        }
+        File archiveFile = new File(cacheDirectory, hasher.hash().toString() + ".zip");
+
+        Lock directoryLock = directoryLocks.get(dir.getAbsolutePath());
+        directoryLock.lock();
+        try {
+            Archive archive = acquire(archiveFile);
+            if (archive != null) {
+                return archive;
+            }
+            Files.createDirectories(cacheDirectory.toPath());
+            File tempFile = File.createTempFile("soapui-project", ".zip.tmp", cacheDirectory);
+            try {
+                writeArchive(dir, files, tempFile);
+                Files.move(tempFile.toPath(), archiveFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tempFile.toPath());
+            }
+            return add(dir.getAbsolutePath(), archiveFile);
+        } finally {
+            directoryLock.unlock();
+        }
+    }
+
+    /**
+     * @return the total size of the archives that are kept for reuse
+     */
+
+    long getCacheSize() {
+        synchronized (archives) {
+            return cacheSize;
+        }
+    }
+
+    private Archive acquire(File archiveFile) {
+        synchronized (archives) {
+            CachedArchive cachedArchive = archives.get(archiveFile);
+            if (cachedArchive == null) {
+                return null;
+            }
+            cachedArchive.users++;
+            return new Archive(cachedArchive);
+        }
+    }
+
+    private Archive add(String dirPath, File archiveFile) {
+        CachedArchive cachedArchive = new CachedArchive(dirPath, archiveFile, archiveFile.length());
+        List<CachedArchive> archivesToDelete = new ArrayList<>();
+        synchronized (archives) {
+            archives.put(archiveFile, cachedArchive);
+            cacheSize += cachedArchive.size;
+            cachedArchive.users++;
+
+            File previousArchiveFile = latestArchives.put(dirPath, archiveFile);
+            if (previousArchiveFile != null && !previousArchiveFile.equals(archiveFile)) {
+                CachedArchive previousArchive = archives.remove(previousArchiveFile);
+                if (previousArchive != null) {
+                    discard(previousArchive, archivesToDelete);
+                }
+            }
+
+            Iterator<CachedArchive> iterator = archives.values().iterator();
+            while (cacheSize > maxCacheSize && iterator.hasNext()) {
+                CachedArchive leastRecentlyUsed = iterator.next();
+                if (leastRecentlyUsed != cachedArchive) {
+                    iterator.remove();
+                    latestArchives.remove(leastRecentlyUsed.dirPath, leastRecentlyUsed.file);
+                    discard(leastRecentlyUsed, archivesToDelete);
+                }
+            }
+        }
+        archivesToDelete.forEach(CompositeProjectArchiver::delete);
+        return new Archive(cachedArchive);
+    }
+
+    private void release(CachedArchive cachedArchive) {
+        boolean delete;
+        synchronized (archives) {
+            cachedArchive.users--;
+            delete = cachedArchive.removed && cachedArchive.users == 0;
+        }
+        if (delete) {
+            delete(cachedArchive);
+        }
+    }
+
+    /**
+     * Accounts for an archive that has been removed from the archives, it is deleted when no handles to it are open
+     */
+
+    private void discard(CachedArchive cachedArchive, List<CachedArchive> archivesToDelete) {
+        cacheSize -= cachedArchive.size;
+        cachedArchive.removed = true;
+        if (cachedArchive.users == 0) {
+            archivesToDelete.add(cachedArchive);
+        }
+    }
+
+    private static void delete(CachedArchive cachedArchive) {
+        if (!cachedArchive.file.delete()) {
+            LOG.debug("Failed to delete outdated archive " + cachedArchive.file);
+        }
+    }
+
+    private static void deleteDirectory(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!file.delete()) {
+                    LOG.debug("Failed to delete archive " + file);
+                }
+            }
+        }
+        if (!directory.delete()) {
+            LOG.debug("Failed to delete archive directory " + directory);
+        }
+    }
+
+    private void writeArchive(File dir, List<File> files, File zipFile) throws IOException {
+        if (files.size() > MAX_ENTRIES) {
+            throw new IOException("Composite project " + dir + " has more than " + MAX_ENTRIES + " files");
+        }
+
+        List<byte[]> centralDirectory = new ArrayList<>(files.size());
+        Deque<CompletableFuture<CompressedEntry>> pendingEntries = new ArrayDeque<>();
+        int nextFile = 0;
+        long offset = 0;
+
+        try (FileOutputStream fileOut = new FileOutputStream(zipFile);
+             OutputStream out = new BufferedOutputStream(fileOut, BUFFER_SIZE)) {
+            while (nextFile < files.size() || !pendingEntries.isEmpty()) {
+                while (nextFile < files.size() && pendingEntries.size() < parallelism * 2 &&
+                        files.get(nextFile).length() <= streamingThreshold) {
+                    File file = files.get(nextFile++);
+                    String entryName = entryName(dir, file);
+                    pendingEntries.add(CompletableFuture.supplyAsync(() -> compress(file, entryName),
+                            compressionExecutor));
+                }
+                if (offset > MAX_SIZE) {
+                    throw new IOException("Composite project " + dir + " is too large to be zipped");
+                }
+
+                CompressedEntry entry;
+                byte[] localHeader;
+                if (pendingEntries.isEmpty()) {
+                    // all files before it have been written, so the large file can be deflated into the archive
+                    File file = files.get(nextFile++);
+                    entry = new CompressedEntry(entryName(dir, file).getBytes(UTF_8), toDosTime(file.lastModified()));
+                    localHeader = entry.header(0x04034b50, offset);
+                    out.write(localHeader);
+                    CountingOutputStream compressedOut = new CountingOutputStream(out);
+                    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+                    try {
+                        DeflaterOutputStream deflaterOut = new DeflaterOutputStream(compressedOut, deflater,
+                                BUFFER_SIZE);
+                        entry.size = deflate(file, deflaterOut, entry.crc);
+                        deflaterOut.finish();
+                    } finally {
+                        deflater.end();
+                    }
+                    entry.compressedSize = compressedOut.getCount();
+                    if (entry.compressedSize > MAX_SIZE) {
+                        throw new IOException("File " + file + " is too large to be zipped");
+                    }
+                    out.flush();
+                    writeFully(fileOut.getChannel(), entry.header(0x04034b50, offset), offset);
+                } else {
+                    entry = join(pendingEntries.removeFirst());
+                    localHeader = entry.header(0x04034b50, offset);
+                    out.write(localHeader);
+                    out.write(entry.data, 0, (int) entry.compressedSize);
+                }
+                centralDirectory.add(entry.header(0x02014b50, offset));
+                offset += localHeader.length + entry.compressedSize;
+            }
+
+            long centralDirectoryOffset = offset;
+            for (byte[] header : centralDirectory) {
+                out.write(header);
+                offset += header.length;
+            }
+            if (offset > MAX_SIZE) {
+                throw new IOException("Composite project " + dir + " is too large to be zipped");
+            }
+            ZipHeaderWriter end = new ZipHeaderWriter(22);
+            end.putInt(0x06054b50).putShort(0).putShort(0).putShort(files.size()).putShort(files.size())
+                    .putInt(offset - centralDirectoryOffset).putInt(centralDirectoryOffset).putShort(0);
+            out.write(end.bytes);
+        } finally {
+            pendingEntries.forEach(pendingEntry -> pendingEntry.cancel(false));
+        }
+    }
+
+    private static String entryName(File dir, File file) {
+        return file.getAbsolutePath().substring(dir.getAbsolutePath().length());
+    }
+
+    /**
+     * Deflates the file while reading it, so that only the compressed content is held in memory
+     */
+
+    private static CompressedEntry compress(File file, String entryName) {
+        CompressedEntry entry = new CompressedEntry(entryName.getBytes(UTF_8), toDosTime(file.lastModified()));
+        CompressedData data = new CompressedData((int) Math.min(file.length() / 2 + 64, BUFFER_SIZE));
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            try (OutputStream out = new DeflaterOutputStream(data, deflater, BUFFER_SIZE)) {
+                entry.size = deflate(file, out, entry.crc);
+            }
+            entry.data = data.buffer();
+            entry.compressedSize = data.size();
+            return entry;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @return the number of bytes read from the file
+     */
+
+    private static long deflate(File file, OutputStream out, CRC32 crc) throws IOException {
+        long size = 0;
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+                size += read;
+            }
+        }
+        if (size > MAX_SIZE) {
+            throw new IOException("File " + file + " is too large to be zipped");
+        }
+        return size;
+    }
+
+    private static void writeFully(FileChannel channel, byte[] bytes, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static CompressedEntry join(CompletableFuture<CompressedEntry> pendingEntry) throws IOException {
+        try {
+            return pendingEntry.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while zipping composite project", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static long toDosTime(long time) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        int year = Math.max(1980, calendar.get(Calendar.YEAR));
+        return (year - 1980) << 25 | (calendar.get(Calendar.MONTH) + 1) << 21 |
+                calendar.get(Calendar.DAY_OF_MONTH) << 16 | calendar.get(Calendar.HOUR_OF_DAY) << 11 |
+                calendar.get(Calendar.MINUTE) << 5 | calendar.get(Calendar.SECOND) >> 1;
+    }
+
+    private static void populateFilesList(File dir, List<File> files) {
+        File[] filesInDir = dir.listFiles();
+        if (filesInDir == null || filesInDir.length == 0) {
+            return;
+        }
+        Arrays.sort(filesInDir);
+        for (File file : filesInDir) {
+            if (file.isFile()) {
+                files.add(file);
+            } else {
+                populateFilesList(file, files);
+            }
+        }
+    }
+
+    private static Executor createCompressionExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "CompositeProjectArchiver-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * An open handle to an archive, which keeps the archive from being deleted until it is closed
+     */
+
+    final class Archive implements Closeable {
+        private final CachedArchive cachedArchive;
+        private boolean closed;
+
+        private Archive(CachedArchive cachedArchive) {
+            this.cachedArchive = cachedArchive;
+        }
+
+        File getFile() {
+            return cachedArchive.file;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                release(cachedArchive);
+            }
+        }
+    }
+
+    /**
+     * The bookkeeping of an archive; all fields but the file, its size and its directory are guarded by the archives
+     */
+
+    private static class CachedArchive {
+        private final String dirPath;
+        private final File file;
+        private final long size;
+        private int users;
+        private boolean removed;
+
+        private CachedArchive(String dirPath, File file, long size) {
+            this.dirPath = dirPath;
+            this.file = file;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Gives access to the compressed bytes without copying them
+     */
+
+    private static class CompressedData extends ByteArrayOutputStream {
+        private CompressedData(int size) {
+            super(size);
+        }
+
+        private byte[] buffer() {
+            return buf;
+        }
+    }
+
+    /**
+     * An entry of the archive; its data is null if it was deflated straight into the archive
+     */
+
+    private static class CompressedEntry {
+        private final byte[] name;
+        private final long dosTime;
+        private final CRC32 crc = new CRC32();
+        private byte[] data;
+        private long compressedSize;
+        private long size;
+
+        private CompressedEntry(byte[] name, long dosTime) {
+            this.name = name;
+            this.dosTime = dosTime;
+        }
+
+        /**
+         * @return a local file header or, if the signature is the one of the central directory, a central directory
+         * file header for this entry
+         */
+        private byte[] header(int signature, long localHeaderOffset) {
+            boolean centralDirectory = signature == 0x02014b50;
+            ZipHeaderWriter header = new ZipHeaderWriter((centralDirectory ? 46 : 30) + name.length);
+            header.putInt(signature);
+            if (centralDirectory) {
+                header.putShort(20);
+            }
+            header.putShort(20).putShort(UTF8_NAMES_FLAG).putShort(Deflater.DEFLATED).putInt(dosTime).putInt(crc.getValue())
+                    .putInt(compressedSize).putInt(size).putShort(name.length).putShort(0);
+            if (centralDirectory) {
+                header.putShort(0).putShort(0).putShort(0).putInt(0).putInt(localHeaderOffset);
+            }
+            header.putBytes(name);
+            return header.bytes;
+        }
+    }
+
+    /**
+     * Writes the little-endian fields of zip headers
+     */
+    private static class ZipHeaderWriter {
+        private final byte[] bytes;
+        private int position;
+
+        private ZipHeaderWriter(int length) {
+            bytes = new byte[length];
+        }
+
+        private ZipHeaderWriter putShort(int value) {
+            bytes[position++] = (byte) value;
+            bytes[position++] = (byte) (value >>> 8);
+            return this;
+        }
+
+        private ZipHeaderWriter putInt(long value) {
+            putShort((int) (value & 0xFFFF));
+            return putShort((int) ((value >>> 16) & 0xFFFF));
+        }
+
+        private ZipHeaderWriter putBytes(byte[] value) {
+            System.arraycopy(value, 0, bytes, position, value.length);
+            position += value.length;
+            return this;
+        }
+    }
+}
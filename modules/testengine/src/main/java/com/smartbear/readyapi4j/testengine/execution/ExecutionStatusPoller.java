@@ -0,0 +1,182 @@
+package com.smartbear.readyapi4j.testengine.execution;
+
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Polls the status of all pending asynchronous executions of a TestEngineClient. The delays between status requests
+ * are kept by one scheduler shared by all pollers, while each poller sends its requests on its own threads, which
+ * are discarded when they have been idle for a while. Executions are polled often right after they were submitted
+ * and increasingly seldom the longer they run, and the number of status requests sent to the TestEngine at the same
+ * time is capped.
+ */
+
+class ExecutionStatusPoller {
+    static final long DEFAULT_INITIAL_INTERVAL = 500;
+    static final long DEFAULT_MAX_INTERVAL = 10000;
+    static final double DEFAULT_BACKOFF_FACTOR = 1.5;
+    static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 8;
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionStatusPoller.class);
+    private static final int NUMBER_OF_RETRIES_IN_CASE_OF_ERRORS = 3;
+    private static final AtomicInteger pollerCount = new AtomicInteger();
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            daemonThreadFactory("TestEngine-status-poller-scheduler"));
+
+    private final Function<String, TestJobReport> statusFetcher;
+    private volatile long initialInterval;
+    private volatile long maxInterval;
+    private volatile double backoffFactor;
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ThreadPoolExecutor requestExecutor;
+
+    /**
+     * Handles the outcome of status requests for a single execution
+     */
+
+    interface StatusHandler {
+
+        /**
+         * Called with each status report received for the execution
+         *
+         * @return true if the execution has finished and polling should stop
+         */
+        boolean statusReceived(TestJobReport report);
+
+        /**
+         * Called if polling was stopped because of repeated errors
+         */
+        void pollingFailed(Exception e);
+    }
+
+    ExecutionStatusPoller(Function<String, TestJobReport> statusFetcher) {
+        this(statusFetcher, DEFAULT_INITIAL_INTERVAL, DEFAULT_MAX_INTERVAL, DEFAULT_BACKOFF_FACTOR,
+                DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+
+    ExecutionStatusPoller(Function<String, TestJobReport> statusFetcher, long initialInterval, long maxInterval,
+                          double backoffFactor, int maxConcurrentRequests) {
+        validate(initialInterval, maxInterval, backoffFactor, maxConcurrentRequests);
+        this.statusFetcher = statusFetcher;
+        this.initialInterval = initialInterval;
+        this.maxInterval = maxInterval;
+        this.backoffFactor = backoffFactor;
+
+        String threadName = "TestEngine-status-poller-" + pollerCount.incrementAndGet();
+        requestExecutor = new ThreadPoolExecutor(maxConcurrentRequests, maxConcurrentRequests, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemonThreadFactory(threadName + "-request"));
+        requestExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Starts polling the status of the specified execution until the handler signals that it has finished
+     */
+    void poll(TestEngineExecution execution, StatusHandler handler) {
+        pendingCount.incrementAndGet();
+        schedule(new PendingExecution(execution, handler), initialInterval);
+    }
+
+    /**
+     * @return the number of executions currently being polled
+     */
+    int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Changes how executions are polled. Executions that are already pending keep being polled and use the new
+     * configuration from their next status request on.
+     */
+    synchronized void reconfigure(long initialInterval, long maxInterval, double backoffFactor,
+                                  int maxConcurrentRequests) {
+        validate(initialInterval, maxInterval, backoffFactor, maxConcurrentRequests);
+        this.initialInterval = initialInterval;
+        this.maxInterval = maxInterval;
+        this.backoffFactor = backoffFactor;
+        if (maxConcurrentRequests > requestExecutor.getMaximumPoolSize()) {
+            requestExecutor.setMaximumPoolSize(maxConcurrentRequests);
+            requestExecutor.setCorePoolSize(maxConcurrentRequests);
+        } else {
+            requestExecutor.setCorePoolSize(maxConcurrentRequests);
+            requestExecutor.setMaximumPoolSize(maxConcurrentRequests);
+        }
+    }
+
+    /**
+     * Stops polling all pending executions
+     */
+    void shutdown() {
+        requestExecutor.shutdownNow();
+    }
+
+    private void schedule(PendingExecution pending, long delay) {
+        pending.interval = delay;
+        scheduler.schedule(() -> {
+            try {
+                requestExecutor.execute(() -> checkStatus(pending));
+            } catch (RejectedExecutionException e) {
+                logger.debug("Stopped polling the status of execution " + pending.execution.getId() +
+                        " since the poller was shut down");
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void checkStatus(PendingExecution pending) {
+        try {
+            TestJobReport executionStatus = statusFetcher.apply(pending.execution.getId());
+            pending.errorCount = 0;
+            if (pending.handler.statusReceived(executionStatus)) {
+                pendingCount.decrementAndGet();
+                return;
+            }
+        } catch (Exception e) {
+            logger.debug("Error while checking for execution status", e);
+            if (pending.errorCount++ > NUMBER_OF_RETRIES_IN_CASE_OF_ERRORS) {
+                pendingCount.decrementAndGet();
+                pending.handler.pollingFailed(e);
+                return;
+            }
+        }
+
+        schedule(pending, Math.min(maxInterval, (long) (pending.interval * backoffFactor)));
+    }
+
+    private static void validate(long initialInterval, long maxInterval, double backoffFactor,
+                                 int maxConcurrentRequests) {
+        if (initialInterval < 1 || maxInterval < initialInterval || backoffFactor < 1 || maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("Invalid status polling configuration");
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class PendingExecution {
+        private final TestEngineExecution execution;
+        private final StatusHandler handler;
+        private long interval;
+        private int errorCount;
+
+        PendingExecution(TestEngineExecution execution, StatusHandler handler) {
+            this.execution = execution;
+            this.handler = handler;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.smartbear.readyapi4j.testengine.execution;
+
+import com.smartbear.readyapi4j.TestRecipe;
+
+/**
+ * What the executors need from a TestEngineConnection to submit executions and to follow their status; kept apart
+ * from the connection so that it doesn't become part of its public API
+ */
+
+interface ExecutionSubmitter {
+
+    TestEngineExecution postTestRecipe(TestRecipe testRecipe, boolean async);
+
+    TestEngineExecution postProject(ProjectExecutionRequest projectExecutionRequest, boolean async);
+
+    ExecutionStatusPoller getStatusPoller();
+}
@@ -0,0 +1,389 @@
+package com.smartbear.readyapi4j.testengine.execution;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.smartbear.readyapi4j.client.model.HarEntry;
+import com.smartbear.readyapi4j.support.ObjectMapperRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Disk-backed cache of transaction logs, so that the HAR entries of finished executions don't need to be downloaded
+ * again when an execution is analysed a second time, also by a later process.
+ * <p>
+ * The entries of each execution are appended, gzip compressed one by one, to a data file, and their positions are
+ * appended to an index file next to it. When the data files together grow beyond the configured size, the files of
+ * the least recently used executions are deleted.
+ * <p>
+ * The cache is thread-safe. Its lock only guards the bookkeeping of entries, not reading, compressing and writing
+ * them, so that transaction logs that are fetched in parallel are also cached in parallel. Each entry gets its own
+ * region of the data file before it is written, and the files of an evicted execution are deleted once all
+ * entries being written to them are complete.
+ */
+
+public class HarCache {
+    private static final Logger LOG = LoggerFactory.getLogger(HarCache.class);
+
+    private static final String DATA_SUFFIX = ".har";
+    private static final String INDEX_SUFFIX = ".idx";
+    // separates the encoded execution id from the unique part of a file name, URL encoding never leaves it in the id
+    private static final char UNIQUE_PART_SEPARATOR = '~';
+
+    private final File directory;
+    private final long maxBytes;
+    private final Map<String, Segment> segments = new LinkedHashMap<>(16, 0.75f, true);
+    private final ObjectReader reader = ObjectMapperRegistry.testEngineReader(HarEntry.class);
+    private final ObjectWriter writer = ObjectMapperRegistry.copyTestEngineMapper().writerFor(HarEntry.class);
+    private long sizeInBytes;
+
+    /**
+     * Opens the cache in the specified directory, reading the index of entries cached by earlier processes
+     *
+     * @param directory the directory to store the cache files in, created if it doesn't exist
+     * @param maxBytes  the maximum total size of the compressed entries
+     * @throws IOException if the directory couldn't be created or read
+     */
+
+    public HarCache(File directory, long maxBytes) throws IOException {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory.toPath());
+        loadSegments();
+    }
+
+    /**
+     * @return the cached entry, null if the transaction isn't cached or couldn't be read
+     */
+
+    public HarEntry get(String executionId, String transactionId) {
+        Segment segment;
+        long[] position;
+        synchronized (this) {
+            segment = segments.get(executionId);
+            position = segment == null ? null : segment.positions.get(transactionId);
+        }
+        if (position == null) {
+            return null;
+        }
+
+        byte[] compressed = new byte[(int) position[1]];
+        try (RandomAccessFile dataFile = new RandomAccessFile(segment.dataFile, "r")) {
+            dataFile.seek(position[0]);
+            dataFile.readFully(compressed);
+        } catch (IOException e) {
+            if (remove(executionId, segment)) {
+                LOG.warn("Failed to read cached transaction log for execution " + executionId, e);
+            }
+            return null;
+        }
+        segment.indexFile.setLastModified(System.currentTimeMillis());
+
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return reader.readValue(inputStream);
+        } catch (IOException e) {
+            LOG.warn("Failed to parse cached transaction log for execution " + executionId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Appends the entry to the files of its execution, unless the transaction is already cached, and evicts the least
+     * recently used executions if the cache has grown too large
+     */
+
+    public void put(String executionId, String transactionId, HarEntry harEntry) {
+        if (contains(executionId, transactionId)) {
+            return;
+        }
+        byte[] compressed;
+        try {
+            compressed = compress(harEntry);
+        } catch (IOException e) {
+            LOG.warn("Failed to compress transaction log for execution " + executionId, e);
+            return;
+        }
+
+        Segment segment;
+        long offset;
+        synchronized (this) {
+            segment = segments.get(executionId);
+            if (segment == null) {
+                String fileName = encode(executionId) + UNIQUE_PART_SEPARATOR + UUID.randomUUID();
+                segment = new Segment(new File(directory, fileName + DATA_SUFFIX),
+                        new File(directory, fileName + INDEX_SUFFIX));
+                segments.put(executionId, segment);
+            } else if (segment.positions.containsKey(transactionId) ||
+                    segment.pendingTransactions.contains(transactionId)) {
+                return;
+            }
+            segment.pendingTransactions.add(transactionId);
+            segment.writers++;
+            offset = segment.size;
+            segment.size += compressed.length;
+            sizeInBytes += compressed.length;
+        }
+
+        boolean written = write(segment, offset, compressed, transactionId);
+
+        List<Segment> segmentsToDelete = new ArrayList<>();
+        synchronized (this) {
+            segment.writers--;
+            segment.pendingTransactions.remove(transactionId);
+            if (written) {
+                segment.positions.put(transactionId, new long[]{offset, compressed.length});
+            } else if (segments.get(executionId) == segment) {
+                segments.remove(executionId);
+                detach(segment, segmentsToDelete);
+            }
+            if (segment.removed) {
+                collectForDeletion(segment, segmentsToDelete);
+            }
+            evictToMaxSize(segmentsToDelete);
+        }
+        segmentsToDelete.forEach(HarCache::deleteFiles);
+    }
+
+    /**
+     * @return the total size of the compressed entries in the cache
+     */
+
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    /**
+     * @return the number of executions with cached entries
+     */
+
+    public synchronized int getExecutionCount() {
+        return segments.size();
+    }
+
+    /**
+     * Deletes all cached entries
+     */
+
+    public void clear() {
+        List<Segment> segmentsToDelete = new ArrayList<>();
+        synchronized (this) {
+            for (Segment segment : segments.values()) {
+                detach(segment, segmentsToDelete);
+            }
+            segments.clear();
+        }
+        segmentsToDelete.forEach(HarCache::deleteFiles);
+    }
+
+    private synchronized boolean contains(String executionId, String transactionId) {
+        Segment segment = segments.get(executionId);
+        return segment != null && segment.positions.containsKey(transactionId);
+    }
+
+    /**
+     * Writes the entry to the region of the data file reserved for it and then appends its position to the index
+     *
+     * @return true if the entry was written
+     */
+
+    private static boolean write(Segment segment, long offset, byte[] compressed, String transactionId) {
+        try {
+            try (FileChannel dataChannel = FileChannel.open(segment.dataFile.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(compressed);
+                while (buffer.hasRemaining()) {
+                    dataChannel.write(buffer, offset + buffer.position());
+                }
+            }
+            // a single append per entry, so that the lines of entries written at the same time don't interleave
+            Files.write(segment.indexFile.toPath(),
+                    (offset + " " + compressed.length + " " + transactionId + "\n").getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            return true;
+        } catch (IOException e) {
+            LOG.warn("Failed to cache transaction log in " + segment.dataFile, e);
+            return false;
+        }
+    }
+
+    private void evictToMaxSize(List<Segment> segmentsToDelete) {
+        Iterator<Map.Entry<String, Segment>> iterator = segments.entrySet().iterator();
+        while (sizeInBytes > maxBytes && iterator.hasNext()) {
+            Segment segment = iterator.next().getValue();
+            iterator.remove();
+            detach(segment, segmentsToDelete);
+        }
+    }
+
+    /**
+     * @return true if the segment was still the one of the execution
+     */
+
+    private boolean remove(String executionId, Segment segment) {
+        List<Segment> segmentsToDelete = new ArrayList<>();
+        synchronized (this) {
+            if (segments.get(executionId) != segment) {
+                return false;
+            }
+            segments.remove(executionId);
+            detach(segment, segmentsToDelete);
+        }
+        segmentsToDelete.forEach(HarCache::deleteFiles);
+        return true;
+    }
+
+    /**
+     * Accounts for a segment that has been removed from the segments, its files are deleted when no entries are
+     * being written to them anymore
+     */
+
+    private void detach(Segment segment, List<Segment> segmentsToDelete) {
+        sizeInBytes -= segment.size;
+        segment.removed = true;
+        collectForDeletion(segment, segmentsToDelete);
+    }
+
+    private static void collectForDeletion(Segment segment, List<Segment> segmentsToDelete) {
+        if (segment.writers == 0 && !segment.deleted) {
+            segment.deleted = true;
+            segmentsToDelete.add(segment);
+        }
+    }
+
+    private static void deleteFiles(Segment segment) {
+        if ((segment.dataFile.exists() && !segment.dataFile.delete()) ||
+                (segment.indexFile.exists() && !segment.indexFile.delete())) {
+            LOG.warn("Failed to delete cached transaction logs in " + segment.dataFile);
+        }
+    }
+
+    private byte[] compress(HarEntry harEntry) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream outputStream = new GZIPOutputStream(compressed)) {
+            writer.writeValue(outputStream, harEntry);
+        }
+        return compressed.toByteArray();
+    }
+
+    private void loadSegments() throws IOException {
+        File[] indexFiles = directory.listFiles((dir, name) ->
+                name.endsWith(INDEX_SUFFIX) && name.indexOf(UNIQUE_PART_SEPARATOR) >= 0);
+        if (indexFiles == null) {
+            throw new IOException("Failed to list files in " + directory);
+        }
+        Arrays.sort(indexFiles, Comparator.comparingLong(File::lastModified));
+
+        List<Segment> segmentsToDelete = new ArrayList<>();
+        for (File indexFile : indexFiles) {
+            String fileName = indexFile.getName().substring(0, indexFile.getName().length() - INDEX_SUFFIX.length());
+            Segment segment = new Segment(new File(directory, fileName + DATA_SUFFIX), indexFile);
+            try {
+                loadIndex(segment);
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Ignoring unreadable transaction log cache index " + indexFile, e);
+                deleteFiles(segment);
+                continue;
+            }
+            sizeInBytes += segment.size;
+            Segment replacedSegment = segments.put(
+                    decode(fileName.substring(0, fileName.lastIndexOf(UNIQUE_PART_SEPARATOR))), segment);
+            if (replacedSegment != null) {
+                detach(replacedSegment, segmentsToDelete);
+            }
+        }
+        evictToMaxSize(segmentsToDelete);
+        segmentsToDelete.forEach(HarCache::deleteFiles);
+    }
+
+    /**
+     * Reads the positions of the entries, skipping entries that weren't completely written to the data file
+     */
+
+    private void loadIndex(Segment segment) throws IOException {
+        long dataLength = segment.dataFile.length();
+        try (BufferedReader indexReader = Files.newBufferedReader(segment.indexFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = indexReader.readLine()) != null) {
+                String[] fields = line.split(" ", 3);
+                if (fields.length < 3) {
+                    continue;
+                }
+                long offset = Long.parseLong(fields[0]);
+                long length = Long.parseLong(fields[1]);
+                if (offset + length <= dataLength) {
+                    segment.positions.put(fields[2], new long[]{offset, length});
+                }
+            }
+        }
+        segment.size = dataLength;
+    }
+
+    private static String encode(String executionId) {
+        try {
+            return URLEncoder.encode(executionId, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String decode(String fileName) {
+        try {
+            return URLDecoder.decode(fileName, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The files of one execution; all fields but the files are guarded by the lock of the cache
+     */
+
+    private static class Segment {
+        private final File dataFile;
+        private final File indexFile;
+        private final Map<String, long[]> positions = new HashMap<>();
+        private final Set<String> pendingTransactions = new HashSet<>();
+        // the size of the data file including the regions reserved for entries being written
+        private long size;
+        private int writers;
+        private boolean removed;
+        private boolean deleted;
+
+        private Segment(File dataFile, File indexFile) {
+            this.dataFile = dataFile;
+            this.indexFile = indexFile;
+        }
+    }
+}
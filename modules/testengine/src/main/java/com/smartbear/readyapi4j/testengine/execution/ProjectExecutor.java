@@ -15,11 +15,11 @@ public class ProjectExecutor extends AbstractTestEngineExecutor {
 
     private static final Logger logger = LoggerFactory.getLogger(ProjectExecutor.class);
 
-    ProjectExecutor(TestEngineClient testEngineClient, PendingResonsePolicy pendingResonsePolicy) {
+    ProjectExecutor(ExecutionSubmitter testEngineClient, PendingResonsePolicy pendingResonsePolicy) {
         super(testEngineClient, pendingResonsePolicy);
     }
 
-    ProjectExecutor(TestEngineClient testEngineClient) {
+    ProjectExecutor(ExecutionSubmitter testEngineClient) {
         this(testEngineClient, PendingResonsePolicy.REJECT);
     }
 
@@ -90,7 +90,7 @@ public class ProjectExecutor extends AbstractTestEngineExecutor {
      */
 
     public Execution executeProject(ProjectExecutionRequest projectExecutionRequest) {
-        Execution execution = doExecuteProject(projectExecutionRequest, false);
+        TestEngineExecution execution = doExecuteProject(projectExecutionRequest, false);
         notifyExecutionFinished(execution);
         return execution;
     }
@@ -5,6 +5,8 @@ import com.smartbear.readyapi4j.TestRecipe;
 import com.smartbear.readyapi4j.client.model.HarLogRoot;
 import com.smartbear.readyapi4j.client.model.TestJobReport;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Defines an API stub that can communicate with the ReadyAPI Server.
  */
@@ -25,4 +27,36 @@ public interface TestEngineApi {
     TestJobReport postTestRecipe(TestRecipe testRecipe, boolean async, HttpBasicAuth auth) throws ApiException;
 
     void setConnectTimeout(int connectionTimeout);
+
+    /**
+     * Asynchronous variant of postTestRecipe. Implementations that can't send requests asynchronously send the
+     * request on the calling thread and return a completed future.
+     *
+     * @return a future that is completed with the report returned by the TestEngine, or with the ApiException
+     */
+    default CompletableFuture<TestJobReport> postTestRecipeAsync(TestRecipe testRecipe, boolean async, HttpBasicAuth auth) {
+        CompletableFuture<TestJobReport> future = new CompletableFuture<>();
+        try {
+            future.complete(postTestRecipe(testRecipe, async, auth));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Asynchronous variant of getExecutionStatus. Implementations that can't send requests asynchronously send the
+     * request on the calling thread and return a completed future.
+     *
+     * @return a future that is completed with the current report of the execution, or with the ApiException
+     */
+    default CompletableFuture<TestJobReport> getExecutionStatusAsync(String executionID, HttpBasicAuth auth) {
+        CompletableFuture<TestJobReport> future = new CompletableFuture<>();
+        try {
+            future.complete(getExecutionStatus(executionID, auth));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
 }
@@ -5,15 +5,17 @@ import com.smartbear.readyapi4j.TestRecipe;
 import com.smartbear.readyapi4j.client.model.HarLogRoot;
 import com.smartbear.readyapi4j.client.model.TestJobReport;
 import com.smartbear.readyapi4j.execution.Execution;
+import com.sun.jersey.api.client.ClientHandler;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.function.Supplier;
 
 /**
  * Main class for invoking a ReadyAPI TestEngine instance
  */
 
-public class TestEngineClient {
+public class TestEngineClient implements TestEngineConnection {
 
     private String baseUrl;
 
@@ -27,6 +29,30 @@ public class TestEngineClient {
 
     private HttpBasicAuth authentication;
 
+    private ExecutionStatusPoller statusPoller;
+
+    private HarCache harCache;
+
+    private volatile AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private int maxReportHistory;
+
+    private final ExecutionSubmitter executionSubmitter = new ExecutionSubmitter() {
+        @Override
+        public TestEngineExecution postTestRecipe(TestRecipe testRecipe, boolean async) {
+            return TestEngineClient.this.postTestRecipe(testRecipe, async);
+        }
+
+        @Override
+        public TestEngineExecution postProject(ProjectExecutionRequest projectExecutionRequest, boolean async) {
+            return TestEngineClient.this.postProject(projectExecutionRequest, async);
+        }
+
+        @Override
+        public ExecutionStatusPoller getStatusPoller() {
+            return TestEngineClient.this.getStatusPoller();
+        }
+    };
 
     /**
      * Creates a TestEngineClient for a TestEngine instance at the specified endpoint
@@ -80,20 +106,23 @@ public class TestEngineClient {
      * @return a class for executing Test Recipes on the TestEngine
      */
 
+    @Override
     public TestEngineRecipeExecutor createRecipeExecutor() {
-        return new TestEngineRecipeExecutor(this);
+        return new TestEngineRecipeExecutor(executionSubmitter);
     }
 
     /**
      * @return a class for executing standalone projects on the TestEngine
      */
 
+    @Override
     public ProjectExecutor createProjectExecutor() {
-        return new ProjectExecutor(this);
+        return new ProjectExecutor(executionSubmitter);
     }
 
+    @Override
     public ProjectExecutor createProjectExecutor(ProjectExecutor.PendingResonsePolicy pendingResponsePolicy) {
-        return new ProjectExecutor(this, pendingResponsePolicy);
+        return new ProjectExecutor(executionSubmitter, pendingResponsePolicy);
     }
 
     /**
@@ -115,6 +144,7 @@ public class TestEngineClient {
      * Sets the user credentials to use to authenticate requests sent to the configured TestEngine instance
      */
 
+    @Override
     public void setCredentials(String username, String password) {
         authentication = new HttpBasicAuth();
         authentication.setUsername(username);
@@ -126,6 +156,7 @@ public class TestEngineClient {
      * configured TestEngine instance
      */
 
+    @Override
     public TestEngineClient withCredentials(String username, String password) {
         setCredentials(username, password);
         return this;
@@ -140,18 +171,139 @@ public class TestEngineClient {
         return this;
     }
 
+    /**
+     * Configures how the status of asynchronous executions is polled. All pending executions of this client
+     * share one scheduler; each execution is first polled after <code>initialIntervalMillis</code>, after which
+     * the interval grows by half on each poll up to <code>maxIntervalMillis</code>. Executions that are already
+     * being polled keep being polled with the new configuration.
+     *
+     * @param initialIntervalMillis the polling interval used right after an execution has been submitted
+     * @param maxIntervalMillis     the longest polling interval used for long-running executions
+     * @param maxConcurrentRequests the maximum number of status requests sent to the TestEngine at the same time
+     */
+
+    @Override
+    public synchronized TestEngineClient withStatusPolling(long initialIntervalMillis, long maxIntervalMillis,
+                                                           int maxConcurrentRequests) {
+        if (statusPoller == null) {
+            statusPoller = new ExecutionStatusPoller(this::getExecutionStatus, initialIntervalMillis,
+                    maxIntervalMillis, ExecutionStatusPoller.DEFAULT_BACKOFF_FACTOR, maxConcurrentRequests);
+        } else {
+            statusPoller.reconfigure(initialIntervalMillis, maxIntervalMillis,
+                    ExecutionStatusPoller.DEFAULT_BACKOFF_FACTOR, maxConcurrentRequests);
+        }
+        return this;
+    }
+
+    /**
+     * Configures how requests are sent to the TestEngine; only supported with the default TestEngineApi
+     *
+     * @param clientHandler         the Jersey ClientHandler to send requests with, for example an Apache HttpClient
+     *                              based handler with a pooling connection manager; null to use HttpURLConnection
+     * @param maxConcurrentRequests the maximum number of asynchronous requests sent at the same time
+     */
+
+    @Override
+    public TestEngineClient withTransport(ClientHandler clientHandler, int maxConcurrentRequests) {
+        if (!(apiStub instanceof CodegenBasedTestEngineApi)) {
+            throw new IllegalStateException("The transport can only be configured for " +
+                    CodegenBasedTestEngineApi.class.getSimpleName());
+        }
+        ((CodegenBasedTestEngineApi) apiStub).setClientHandler(clientHandler);
+        ((CodegenBasedTestEngineApi) apiStub).setMaxConcurrentRequests(maxConcurrentRequests);
+        return this;
+    }
+
+    /**
+     * Sends recipes and projects gzip compressed, which requires a TestEngine that accepts gzip encoded requests;
+     * only supported with the default TestEngineApi
+     *
+     * @param thresholdBytes the minimum size of a request body for it to be compressed
+     */
+
+    @Override
+    public TestEngineClient withRequestCompression(int thresholdBytes) {
+        if (!(apiStub instanceof CodegenBasedTestEngineApi)) {
+            throw new IllegalStateException("Request compression can only be configured for " +
+                    CodegenBasedTestEngineApi.class.getSimpleName());
+        }
+        ((CodegenBasedTestEngineApi) apiStub).setRequestCompressionThreshold(thresholdBytes);
+        return this;
+    }
+
+    /**
+     * Caches the transaction logs of executions created by this client on disk, so they are only downloaded once even
+     * if an execution is analysed again later
+     *
+     * @param harCache the cache to read transaction logs from before requesting them, null to disable caching
+     */
+
+    @Override
+    public TestEngineClient withHarCache(HarCache harCache) {
+        this.harCache = harCache;
+        return this;
+    }
+
+    /**
+     * Makes executions keep earlier status reports in addition to the current one, which they don't by default since
+     * every report of a long-running execution is a snapshot of all its results so far
+     *
+     * @param maxReportHistory the number of earlier status reports each execution keeps
+     */
+
+    @Override
+    public TestEngineClient withReportHistory(int maxReportHistory) {
+        this.maxReportHistory = maxReportHistory;
+        return this;
+    }
+
+    /**
+     * Limits the number of recipes and projects submitted at the same time with a limit that adapts to how the
+     * TestEngine copes; submissions rejected with 429 are retried after the time the TestEngine asks for
+     *
+     * @param concurrencyLimiter the limiter to send submissions through, null to send them right away
+     */
+
+    public TestEngineClient withConcurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        return this;
+    }
+
+    /**
+     * @return the limiter submissions are sent through, null if submissions aren't limited
+     */
+
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    synchronized ExecutionStatusPoller getStatusPoller() {
+        if (statusPoller == null) {
+            statusPoller = new ExecutionStatusPoller(this::getExecutionStatus);
+        }
+        return statusPoller;
+    }
+
     protected String getBaseUrl() {
         return baseUrl;
     }
 
     TestEngineExecution postTestRecipe(TestRecipe testRecipe, boolean async) {
-        TestJobReport projectResultReport = apiStub.postTestRecipe(testRecipe, async, authentication);
-        return new TestEngineExecution(apiStub, authentication, projectResultReport);
+        TestJobReport projectResultReport = submit(() -> apiStub.postTestRecipe(testRecipe, async, authentication));
+        return new TestEngineExecution(apiStub, authentication, projectResultReport, harCache,
+                maxReportHistory);
     }
 
     TestEngineExecution postProject(ProjectExecutionRequest projectExecutionRequest, boolean async) {
-        TestJobReport projectResultReport = apiStub.postProject(projectExecutionRequest, async, authentication);
-        return new TestEngineExecution(apiStub, authentication, projectResultReport);
+        TestJobReport projectResultReport = submit(() -> apiStub.postProject(projectExecutionRequest, async,
+                authentication));
+        return new TestEngineExecution(apiStub, authentication, projectResultReport, harCache,
+                maxReportHistory);
+    }
+
+    private TestJobReport submit(Supplier<TestJobReport> submission) {
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiter;
+        return limiter == null ? submission.get() : limiter.execute(submission);
     }
 
     TestJobReport getExecutionStatus(String executionId) {
@@ -169,6 +321,7 @@ public class TestEngineClient {
      * @return the canceled execution
      */
 
+    @Override
     public TestEngineExecution cancelExecution(final TestEngineExecution execution) {
         TestJobReport projectResultReport = apiStub.cancelExecution(execution.getId(), authentication);
         execution.addResultReport(projectResultReport);
@@ -183,6 +336,7 @@ public class TestEngineClient {
      * @return the HAR Log for the specified transation
      */
 
+    @Override
     public HarLogRoot getTransactionLog(final Execution execution, String transactionId) {
         return apiStub.getTransactionLog(execution.getId(), transactionId, authentication);
     }
@@ -0,0 +1,350 @@
+package com.smartbear.readyapi4j.testengine.execution;
+
+import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.client.model.HarLogRoot;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.sun.jersey.api.client.ClientHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * TestEngineClient that distributes executions over several TestEngine instances. Each recipe or project is sent to the
+ * healthy node with the fewest running executions, weighted by how fast the node has been accepting submissions.
+ * <p>
+ * A node is taken out of rotation for a while when a submission to it fails with a server error, a connection error or
+ * a 429 response; after a 429 the Retry-After header, if any, determines for how long. Status polling, cancellation and
+ * transaction logs of an execution are always sent to the node that owns it. An execution counts as running on its
+ * node until its {@link Execution#completion()} is completed, also when polling its status fails.
+ */
+
+public class TestEngineClientPool implements TestEngineConnection {
+    private static final Logger LOG = LoggerFactory.getLogger(TestEngineClientPool.class);
+
+    private static final long DEFAULT_DOWN_PERIOD_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final List<Node> nodes;
+    private final Map<String, Node> runningExecutions = new ConcurrentHashMap<>();
+    private volatile long downPeriodMillis = DEFAULT_DOWN_PERIOD_MILLIS;
+    private ExecutionStatusPoller statusPoller;
+
+    private final ExecutionSubmitter executionSubmitter = new ExecutionSubmitter() {
+        @Override
+        public TestEngineExecution postTestRecipe(TestRecipe testRecipe, boolean async) {
+            return TestEngineClientPool.this.postTestRecipe(testRecipe, async);
+        }
+
+        @Override
+        public TestEngineExecution postProject(ProjectExecutionRequest projectExecutionRequest, boolean async) {
+            return TestEngineClientPool.this.postProject(projectExecutionRequest, async);
+        }
+
+        @Override
+        public ExecutionStatusPoller getStatusPoller() {
+            return TestEngineClientPool.this.getStatusPoller();
+        }
+    };
+
+    /**
+     * @param clients one configured client for each TestEngine instance
+     */
+
+    public TestEngineClientPool(TestEngineClient... clients) {
+        this(Arrays.asList(clients));
+    }
+
+    /**
+     * @param clients one configured client for each TestEngine instance
+     */
+
+    public TestEngineClientPool(List<TestEngineClient> clients) {
+        if (clients.isEmpty()) {
+            throw new IllegalArgumentException("At least one TestEngineClient is required");
+        }
+        List<Node> nodes = new ArrayList<>();
+        for (TestEngineClient client : clients) {
+            nodes.add(new Node(client));
+        }
+        this.nodes = Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Creates a pool with one client for each of the specified TestEngine URLs
+     *
+     * @param testEngineUrls the complete URLs of the TestEngine instances
+     * @return a pool that uses the specified credentials for all instances
+     */
+
+    public static TestEngineClientPool fromUrls(List<String> testEngineUrls, String username, String password)
+            throws MalformedURLException {
+        List<TestEngineClient> clients = new ArrayList<>();
+        for (String testEngineUrl : testEngineUrls) {
+            clients.add(TestEngineClient.fromUrl(testEngineUrl).withCredentials(username, password));
+        }
+        return new TestEngineClientPool(clients);
+    }
+
+    /**
+     * @param downPeriod for how long a node isn't sent new executions after an error, unless the TestEngine specifies
+     *                   how long to wait
+     * @param timeUnit   the unit of downPeriod
+     */
+
+    public TestEngineClientPool withDownPeriod(long downPeriod, TimeUnit timeUnit) {
+        this.downPeriodMillis = timeUnit.toMillis(downPeriod);
+        return this;
+    }
+
+    /**
+     * @return the number of nodes currently accepting new executions
+     */
+
+    public int getHealthyNodeCount() {
+        long now = System.currentTimeMillis();
+        return (int) nodes.stream().filter(node -> node.isHealthy(now)).count();
+    }
+
+    /**
+     * @return the number of executions currently running on each node, in the order the clients were passed in
+     */
+
+    public List<Integer> getRunningExecutionCounts() {
+        List<Integer> counts = new ArrayList<>();
+        for (Node node : nodes) {
+            counts.add(node.runningCount.get());
+        }
+        return counts;
+    }
+
+    @Override
+    public TestEngineRecipeExecutor createRecipeExecutor() {
+        return new TestEngineRecipeExecutor(executionSubmitter);
+    }
+
+    @Override
+    public ProjectExecutor createProjectExecutor() {
+        return new ProjectExecutor(executionSubmitter);
+    }
+
+    @Override
+    public ProjectExecutor createProjectExecutor(ProjectExecutor.PendingResonsePolicy pendingResponsePolicy) {
+        return new ProjectExecutor(executionSubmitter, pendingResponsePolicy);
+    }
+
+    @Override
+    public void setCredentials(String username, String password) {
+        for (Node node : nodes) {
+            node.client.setCredentials(username, password);
+        }
+    }
+
+    @Override
+    public TestEngineClientPool withCredentials(String username, String password) {
+        setCredentials(username, password);
+        return this;
+    }
+
+    /**
+     * Configures how the status of the asynchronous executions of all nodes is polled; the status requests of an
+     * execution are sent to the node that owns it
+     */
+
+    @Override
+    public synchronized TestEngineClientPool withStatusPolling(long initialIntervalMillis, long maxIntervalMillis,
+                                                               int maxConcurrentRequests) {
+        if (statusPoller == null) {
+            statusPoller = new ExecutionStatusPoller(this::getExecutionStatus, initialIntervalMillis,
+                    maxIntervalMillis, ExecutionStatusPoller.DEFAULT_BACKOFF_FACTOR, maxConcurrentRequests);
+        } else {
+            statusPoller.reconfigure(initialIntervalMillis, maxIntervalMillis,
+                    ExecutionStatusPoller.DEFAULT_BACKOFF_FACTOR, maxConcurrentRequests);
+        }
+        return this;
+    }
+
+    @Override
+    public TestEngineClientPool withTransport(ClientHandler clientHandler, int maxConcurrentRequests) {
+        for (Node node : nodes) {
+            node.client.withTransport(clientHandler, maxConcurrentRequests);
+        }
+        return this;
+    }
+
+    @Override
+    public TestEngineClientPool withRequestCompression(int thresholdBytes) {
+        for (Node node : nodes) {
+            node.client.withRequestCompression(thresholdBytes);
+        }
+        return this;
+    }
+
+    @Override
+    public TestEngineClientPool withReportHistory(int maxReportHistory) {
+        for (Node node : nodes) {
+            node.client.withReportHistory(maxReportHistory);
+        }
+        return this;
+    }
+
+    @Override
+    public TestEngineClientPool withHarCache(HarCache harCache) {
+        for (Node node : nodes) {
+            node.client.withHarCache(harCache);
+        }
+        return this;
+    }
+
+    synchronized ExecutionStatusPoller getStatusPoller() {
+        if (statusPoller == null) {
+            statusPoller = new ExecutionStatusPoller(this::getExecutionStatus);
+        }
+        return statusPoller;
+    }
+
+    TestEngineExecution postTestRecipe(TestRecipe testRecipe, boolean async) {
+        return submit(client -> client.postTestRecipe(testRecipe, async));
+    }
+
+    TestEngineExecution postProject(ProjectExecutionRequest projectExecutionRequest, boolean async) {
+        return submit(client -> client.postProject(projectExecutionRequest, async));
+    }
+
+    TestJobReport getExecutionStatus(String executionId) {
+        Node node = getOwner(executionId);
+        try {
+            return node.client.getExecutionStatus(executionId);
+        } catch (RuntimeException e) {
+            markDownIfUnavailable(node, e);
+            throw e;
+        }
+    }
+
+    void cancelExecution(String executionID) {
+        getOwner(executionID).client.cancelExecution(executionID);
+    }
+
+    @Override
+    public TestEngineExecution cancelExecution(TestEngineExecution execution) {
+        TestJobReport report = execution.getTestEngineApi().cancelExecution(execution.getId(), execution.getAuth());
+        execution.addResultReport(report);
+        return execution;
+    }
+
+    @Override
+    public HarLogRoot getTransactionLog(Execution execution, String transactionId) {
+        if (execution instanceof TestEngineExecution) {
+            TestEngineExecution testEngineExecution = (TestEngineExecution) execution;
+            return testEngineExecution.getTestEngineApi().getTransactionLog(execution.getId(), transactionId,
+                    testEngineExecution.getAuth());
+        }
+        return getOwner(execution.getId()).client.getTransactionLog(execution, transactionId);
+    }
+
+    private TestEngineExecution submit(Function<TestEngineClient, TestEngineExecution> submission) {
+        Node node = selectNode();
+        node.runningCount.incrementAndGet();
+        long startTime = System.nanoTime();
+        TestEngineExecution execution;
+        try {
+            execution = submission.apply(node.client);
+        } catch (RuntimeException e) {
+            node.runningCount.decrementAndGet();
+            markDownIfUnavailable(node, e);
+            throw e;
+        }
+        node.recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+
+        // the executors poll and complete every execution they have submitted, whatever its first status was, and
+        // whether it finished, was canceled or could no longer be polled
+        runningExecutions.put(execution.getId(), node);
+        execution.completion().whenComplete((result, error) -> executionFinished(execution.getId(), node));
+        return execution;
+    }
+
+    /**
+     * @return the healthy node with the lowest load, or the node that will be available again first if all are down
+     */
+    private Node selectNode() {
+        long now = System.currentTimeMillis();
+        Node selectedNode = null;
+        double lowestLoad = Double.MAX_VALUE;
+        for (Node node : nodes) {
+            double load = node.getLoad();
+            if (node.isHealthy(now) && load < lowestLoad) {
+                selectedNode = node;
+                lowestLoad = load;
+            }
+        }
+        if (selectedNode == null) {
+            for (Node node : nodes) {
+                if (selectedNode == null || node.downUntil < selectedNode.downUntil) {
+                    selectedNode = node;
+                }
+            }
+        }
+        return selectedNode;
+    }
+
+    private Node getOwner(String executionId) {
+        Node node = runningExecutions.get(executionId);
+        if (node == null) {
+            throw new ApiException(404, "Execution " + executionId + " isn't running on any node of this pool");
+        }
+        return node;
+    }
+
+    private void executionFinished(String executionId, Node node) {
+        if (runningExecutions.remove(executionId, node)) {
+            node.runningCount.decrementAndGet();
+        }
+    }
+
+    private void markDownIfUnavailable(Node node, RuntimeException e) {
+        long downPeriod = downPeriodMillis;
+        if (e instanceof ApiException && ((ApiException) e).getStatusCode() != 0) {
+            ApiException apiException = (ApiException) e;
+            if (apiException.getStatusCode() == 429) {
+                downPeriod = AdaptiveConcurrencyLimiter.retryAfterMillis(apiException, downPeriod);
+            } else if (apiException.getStatusCode() < 500) {
+                return;
+            }
+        }
+        LOG.warn("Taking TestEngine at " + node.client.getBaseUrl() + " out of rotation for " + downPeriod + " ms: " + e);
+        node.downUntil = System.currentTimeMillis() + downPeriod;
+    }
+
+    private static class Node {
+        private final TestEngineClient client;
+        private final AtomicInteger runningCount = new AtomicInteger();
+        private volatile double latencyMillis;
+        private volatile long downUntil;
+
+        private Node(TestEngineClient client) {
+            this.client = client;
+        }
+
+        private boolean isHealthy(long now) {
+            return downUntil <= now;
+        }
+
+        private double getLoad() {
+            return (runningCount.get() + 1) * Math.max(1, latencyMillis);
+        }
+
+        private synchronized void recordLatency(long millis) {
+            latencyMillis = latencyMillis == 0 ? millis : latencyMillis + LATENCY_SMOOTHING * (millis - latencyMillis);
+        }
+    }
+}
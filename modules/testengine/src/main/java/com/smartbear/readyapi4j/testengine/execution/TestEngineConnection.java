@@ -0,0 +1,97 @@
+package com.smartbear.readyapi4j.testengine.execution;
+
+import com.smartbear.readyapi4j.client.model.HarLogRoot;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.sun.jersey.api.client.ClientHandler;
+
+/**
+ * Sends recipes and projects to TestEngine instances; implemented by {@link TestEngineClient} for a single instance
+ * and by {@link TestEngineClientPool} for several instances
+ */
+
+public interface TestEngineConnection {
+
+    /**
+     * @return a class for executing Test Recipes on the TestEngine
+     */
+
+    TestEngineRecipeExecutor createRecipeExecutor();
+
+    /**
+     * @return a class for executing standalone projects on the TestEngine
+     */
+
+    ProjectExecutor createProjectExecutor();
+
+    ProjectExecutor createProjectExecutor(ProjectExecutor.PendingResonsePolicy pendingResponsePolicy);
+
+    /**
+     * Sets the user credentials to use to authenticate requests sent to the TestEngine
+     */
+
+    void setCredentials(String username, String password);
+
+    /**
+     * Fluent method for setting the user credentials to use to authenticate requests sent to the TestEngine
+     */
+
+    TestEngineConnection withCredentials(String username, String password);
+
+    /**
+     * Configures how the status of asynchronous executions is polled; executions that are already being polled keep
+     * being polled with the new configuration
+     *
+     * @param initialIntervalMillis the polling interval used right after an execution has been submitted
+     * @param maxIntervalMillis     the longest polling interval used for long-running executions
+     * @param maxConcurrentRequests the maximum number of status requests sent at the same time
+     */
+
+    TestEngineConnection withStatusPolling(long initialIntervalMillis, long maxIntervalMillis,
+                                           int maxConcurrentRequests);
+
+    /**
+     * Configures how requests are sent to the TestEngine; only supported with the default TestEngineApi
+     *
+     * @param clientHandler         the Jersey ClientHandler to send requests with, null to use HttpURLConnection
+     * @param maxConcurrentRequests the maximum number of asynchronous requests sent at the same time
+     */
+
+    TestEngineConnection withTransport(ClientHandler clientHandler, int maxConcurrentRequests);
+
+    /**
+     * Sends recipes and projects gzip compressed; only supported with the default TestEngineApi
+     *
+     * @param thresholdBytes the minimum size of a request body for it to be compressed
+     */
+
+    TestEngineConnection withRequestCompression(int thresholdBytes);
+
+    /**
+     * @param maxReportHistory the number of earlier status reports each execution keeps
+     */
+
+    TestEngineConnection withReportHistory(int maxReportHistory);
+
+    /**
+     * @param harCache the cache to read transaction logs from before requesting them, null to disable caching
+     */
+
+    TestEngineConnection withHarCache(HarCache harCache);
+
+    /**
+     * Cancels an execution previously created by one of the executors
+     *
+     * @param execution the execution to cancel
+     * @return the canceled execution
+     */
+
+    TestEngineExecution cancelExecution(TestEngineExecution execution);
+
+    /**
+     * @param execution     the execution to query
+     * @param transactionId the id of a specific transaction within the specified execution
+     * @return the HAR Log for the specified transaction
+     */
+
+    HarLogRoot getTransactionLog(Execution execution, String transactionId);
+}
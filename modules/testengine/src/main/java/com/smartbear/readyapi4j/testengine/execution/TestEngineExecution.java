@@ -1,36 +1,86 @@
 package com.smartbear.readyapi4j.testengine.execution;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.smartbear.readyapi4j.HttpBasicAuth;
+import com.smartbear.readyapi4j.client.model.HarEntry;
+import com.smartbear.readyapi4j.client.model.HarLogRoot;
 import com.smartbear.readyapi4j.client.model.TestCaseResultReport;
 import com.smartbear.readyapi4j.client.model.TestJobReport;
 import com.smartbear.readyapi4j.client.model.TestStepResultReport;
 import com.smartbear.readyapi4j.client.model.TestSuiteResultReport;
 import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.extractor.ExtractorData;
 import com.smartbear.readyapi4j.result.RecipeExecutionResult;
+import com.smartbear.readyapi4j.result.TestStepResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Class corresponding to an execution on a TestEngine instance. The execution can be either ongoing or completed.
  */
 
 public class TestEngineExecution implements Execution {
-    private final Deque<TestJobReport> executionStatusReports = new ConcurrentLinkedDeque<>();
+    private static final Logger LOG = LoggerFactory.getLogger(TestEngineExecution.class);
+    static final int MAX_RETAINED_HAR_ENTRIES = 1000;
+
+    private final Deque<TestJobReport> reportHistory;
+    private final int maxReportHistory;
+    private volatile TestJobReport currentReport;
     private final String id;
     private final TestEngineApi testEngineApi;
     private final HttpBasicAuth auth;
+    private final HarCache harCache;
+    private final CompletableFuture<RecipeExecutionResult> completion = new CompletableFuture<>();
+    // transaction logs by transaction id, empty for transactions that have no log
+    private final Cache<String, Optional<HarEntry>> harEntries = CacheBuilder.newBuilder()
+            .maximumSize(MAX_RETAINED_HAR_ENTRIES)
+            .build();
+    // prefetched logs are kept for all transactions of the execution, however many there are
+    private final ConcurrentMap<String, Optional<HarEntry>> prefetchedHarEntries = new ConcurrentHashMap<>();
+    private final AtomicReference<ExtractorData> extractorData = new AtomicReference<>();
+    private int reportedTestStepCount;
 
     /**
      * Package-scoped constructor since this class should only be created by executors or tests
      */
 
     TestEngineExecution(TestEngineApi testEngineApi, HttpBasicAuth auth, TestJobReport projectResultReport) {
+        this(testEngineApi, auth, projectResultReport, null, 0);
+    }
+
+    /**
+     * @param maxReportHistory the number of earlier status reports to keep in addition to the current one
+     */
+
+    TestEngineExecution(TestEngineApi testEngineApi, HttpBasicAuth auth, TestJobReport projectResultReport,
+                        HarCache harCache, int maxReportHistory) {
         this.testEngineApi = testEngineApi;
         this.auth = auth;
-        executionStatusReports.add(projectResultReport);
+        this.harCache = harCache;
+        this.maxReportHistory = maxReportHistory;
+        this.reportHistory = maxReportHistory > 0 ? new ArrayDeque<>(Math.min(maxReportHistory, 16)) : null;
+        this.currentReport = projectResultReport;
         this.id = projectResultReport.getTestjobId();
     }
 
@@ -41,12 +91,26 @@ public class TestEngineExecution implements Execution {
 
     @Override
     public TestJobReport.StatusEnum getCurrentStatus() {
-        return executionStatusReports.getLast().getStatus();
+        return currentReport.getStatus();
     }
 
     @Override
     public TestJobReport getCurrentReport() {
-        return executionStatusReports.getLast();
+        return currentReport;
+    }
+
+    /**
+     * @return the status reports received before the current one, oldest first; only as many as the client was
+     * configured to keep, so by default none
+     */
+
+    public List<TestJobReport> getReportHistory() {
+        if (reportHistory == null) {
+            return Collections.emptyList();
+        }
+        synchronized (reportHistory) {
+            return new ArrayList<>(reportHistory);
+        }
     }
 
     TestEngineApi getTestEngineApi() {
@@ -57,22 +121,203 @@ public class TestEngineExecution implements Execution {
         return auth;
     }
 
+    /**
+     * Keeps the ExtractorData of the executed recipe with this execution, since other executions of the same recipe
+     * may be running at the same time
+     */
+    void setExtractorData(ExtractorData extractorData) {
+        this.extractorData.set(extractorData);
+    }
+
+    /**
+     * @return the ExtractorData of the executed recipe, null if it has none or if it has already been taken
+     */
+    ExtractorData takeExtractorData() {
+        return extractorData.getAndSet(null);
+    }
+
+    /**
+     * Fetches the transaction logs of all TestSteps in the current report concurrently on the request threads of the
+     * TestEngine connection, see {@link #prefetchTransactionLogs(int, Executor)}
+     *
+     * @param parallelism the maximum number of transaction logs fetched at the same time
+     * @throws InterruptedException if the thread is interrupted while waiting for the transaction logs
+     */
+
+    public void prefetchTransactionLogs(int parallelism) throws InterruptedException {
+        Executor executor = testEngineApi instanceof CodegenBasedTestEngineApi ?
+                ((CodegenBasedTestEngineApi) testEngineApi).getRequestExecutor() : Runnable::run;
+        prefetchTransactionLogs(parallelism, executor);
+    }
+
+    /**
+     * Fetches the transaction logs of all TestSteps in the current report concurrently, so that getHarEntry() of the
+     * TestStep results doesn't need to send a request per TestStep. Logs that have already been fetched are not
+     * fetched again and each transaction is only fetched once, even if several TestSteps refer to it. Prefetched logs
+     * are kept for all transactions of the execution, while logs fetched by single TestStep results are kept for at
+     * most MAX_RETAINED_HAR_ENTRIES transactions.
+     *
+     * @param parallelism the maximum number of transaction logs fetched at the same time
+     * @param executor    the executor to fetch the transaction logs on
+     * @throws InterruptedException if the thread is interrupted while waiting for the transaction logs
+     */
+
+    public void prefetchTransactionLogs(int parallelism, Executor executor) throws InterruptedException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        Set<String> transactionIds = new LinkedHashSet<>();
+        TestJobReport currentReport = this.currentReport;
+        if (currentReport.getTestSuiteResultReports() != null) {
+            for (TestSuiteResultReport testSuiteReport : currentReport.getTestSuiteResultReports()) {
+                for (TestCaseResultReport testCaseResultReport : testSuiteReport.getTestCaseResultReports()) {
+                    for (TestStepResultReport testStepResultReport : testCaseResultReport.getTestStepResultReports()) {
+                        String transactionId = testStepResultReport.getTransactionId();
+                        if (transactionId != null && !prefetchedHarEntries.containsKey(transactionId)) {
+                            transactionIds.add(transactionId);
+                        }
+                    }
+                }
+            }
+        }
+
+        Semaphore fetchPermits = new Semaphore(parallelism);
+        CountDownLatch fetchedLatch = new CountDownLatch(transactionIds.size());
+        for (String transactionId : transactionIds) {
+            fetchPermits.acquire();
+            try {
+                executor.execute(() -> {
+                    try {
+                        prefetchHarEntry(transactionId);
+                    } finally {
+                        fetchPermits.release();
+                        fetchedLatch.countDown();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                fetchPermits.release();
+                throw e;
+            }
+        }
+        fetchedLatch.await();
+    }
+
+    private void prefetchHarEntry(String transactionId) {
+        Optional<HarEntry> harEntry = harEntries.getIfPresent(transactionId);
+        try {
+            if (harEntry == null) {
+                harEntry = fetchHarEntry(transactionId);
+            }
+            prefetchedHarEntries.put(transactionId, harEntry);
+            harEntries.invalidate(transactionId);
+        } catch (RuntimeException e) {
+            LOG.error("Error when trying to get transaction log for execution " + id, e);
+        }
+    }
+
+    /**
+     * @return the first entry of the transaction log, fetched only once per transaction; null if there is no log or
+     * if it couldn't be fetched, in which case it is fetched again on the next call
+     */
+
+    HarEntry getHarEntry(String transactionId) {
+        if (transactionId == null) {
+            return null;
+        }
+        Optional<HarEntry> prefetchedEntry = prefetchedHarEntries.get(transactionId);
+        if (prefetchedEntry != null) {
+            return prefetchedEntry.orElse(null);
+        }
+        try {
+            return harEntries.get(transactionId, () -> fetchHarEntry(transactionId)).orElse(null);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            LOG.error("Error when trying to get transaction log for execution " + id, e.getCause());
+            return null;
+        }
+    }
+
+    private Optional<HarEntry> fetchHarEntry(String transactionId) {
+        if (harCache != null) {
+            HarEntry cachedEntry = harCache.get(id, transactionId);
+            if (cachedEntry != null) {
+                return Optional.of(cachedEntry);
+            }
+        }
+        try {
+            HarLogRoot logRoot = testEngineApi.getTransactionLog(id, transactionId, auth);
+            if (logRoot != null && logRoot.getLog() != null && logRoot.getLog().getEntries() != null &&
+                    logRoot.getLog().getEntries().size() > 0) {
+                HarEntry harEntry = logRoot.getLog().getEntries().get(0);
+                if (harCache != null) {
+                    harCache.put(id, transactionId, harEntry);
+                }
+                return Optional.of(harEntry);
+            }
+        } catch (ApiException e) {
+            // only a missing log is remembered, other errors such as timeouts may not occur when trying again
+            if (e.getStatusCode() != 404) {
+                throw e;
+            }
+            LOG.info("No transaction log available for execution " + id);
+        }
+        return Optional.empty();
+    }
+
     void addResultReport(TestJobReport newReport) {
-        executionStatusReports.add(newReport);
+        if (reportHistory != null) {
+            synchronized (reportHistory) {
+                if (reportHistory.size() >= maxReportHistory) {
+                    reportHistory.removeFirst();
+                }
+                reportHistory.addLast(currentReport);
+                currentReport = newReport;
+            }
+        } else {
+            currentReport = newReport;
+        }
+    }
+
+    /**
+     * Diffs the current report against the TestStep results already returned by earlier calls
+     *
+     * @return results for TestSteps that have finished since the last call, in execution order
+     */
+
+    synchronized List<TestStepResult> takeNewTestStepResults() {
+        List<TestStepResult> result = Lists.newArrayList();
+        TestJobReport currentReport = this.currentReport;
+        if (currentReport == null || currentReport.getTestSuiteResultReports() == null) {
+            return result;
+        }
+
+        int stepIndex = 0;
+        for (TestSuiteResultReport testSuiteReport : currentReport.getTestSuiteResultReports()) {
+            for (TestCaseResultReport testCaseResultReport : testSuiteReport.getTestCaseResultReports()) {
+                for (TestStepResultReport testStepResultReport : testCaseResultReport.getTestStepResultReports()) {
+                    if (stepIndex++ >= reportedTestStepCount) {
+                        result.add(new TestEngineTestStepResult(testStepResultReport, this));
+                    }
+                }
+            }
+        }
+
+        reportedTestStepCount = Math.max(reportedTestStepCount, stepIndex);
+        return result;
     }
 
     @Override
     public RecipeExecutionResult getExecutionResult() {
-        TestJobReport lastReport = executionStatusReports.getLast();
-        return lastReport == null ? null : new TestEngineRecipeExecutionResult(this, getCurrentReport());
+        TestJobReport lastReport = currentReport;
+        return lastReport == null ? null : new TestEngineRecipeExecutionResult(this, lastReport);
     }
 
     @Override
     public List<String> getErrorMessages() {
         List<String> result = Lists.newArrayList();
 
-        if (executionStatusReports.getLast() != null) {
-            for (TestSuiteResultReport testSuiteReport : executionStatusReports.getLast().getTestSuiteResultReports()) {
+        TestJobReport lastReport = currentReport;
+        if (lastReport != null) {
+            for (TestSuiteResultReport testSuiteReport : lastReport.getTestSuiteResultReports()) {
                 for (TestCaseResultReport testCaseResultReport : testSuiteReport.getTestCaseResultReports()) {
                     for (TestStepResultReport testStepResultReport : testCaseResultReport.getTestStepResultReports()) {
                         if (testStepResultReport.getAssertionStatus() == TestStepResultReport.AssertionStatusEnum.FAIL) {
@@ -92,4 +337,21 @@ public class TestEngineExecution implements Execution {
     public void cancelExecution() {
         testEngineApi.cancelExecution(id, auth);
     }
+
+    @Override
+    public CompletableFuture<RecipeExecutionResult> completion() {
+        return completion;
+    }
+
+    void complete() {
+        try {
+            completion.complete(getExecutionResult());
+        } catch (RuntimeException e) {
+            completion.completeExceptionally(e);
+        }
+    }
+
+    void completeExceptionally(Throwable throwable) {
+        completion.completeExceptionally(throwable);
+    }
 }
@@ -9,7 +9,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -20,7 +19,7 @@ public class TestEngineRecipeExecutor extends AbstractTestEngineExecutor impleme
 
     private final List<RecipeFilter> recipeFilters = new CopyOnWriteArrayList<>();
 
-    TestEngineRecipeExecutor(TestEngineClient testEngineClient) {
+    TestEngineRecipeExecutor(ExecutionSubmitter testEngineClient) {
         super(testEngineClient);
     }
 
@@ -41,9 +40,7 @@ public class TestEngineRecipeExecutor extends AbstractTestEngineExecutor impleme
 
     @Override
     public TestEngineExecution submitRecipe(TestRecipe recipe) {
-        for (RecipeFilter recipeFilter : recipeFilters) {
-            recipeFilter.filterRecipe(recipe);
-        }
+        recipe.applyFilters(recipeFilters);
 
         TestEngineExecution execution = doExecuteTestCase(recipe, recipe.getExtractorData(), true);
         notifyExecutionStarted(execution);
@@ -52,9 +49,7 @@ public class TestEngineRecipeExecutor extends AbstractTestEngineExecutor impleme
 
     @Override
     public TestEngineExecution executeRecipe(TestRecipe recipe) {
-        for (RecipeFilter recipeFilter : recipeFilters) {
-            recipeFilter.filterRecipe(recipe);
-        }
+        recipe.applyFilters(recipeFilters);
 
         TestEngineExecution execution = doExecuteTestCase(recipe, recipe.getExtractorData(), false);
         notifyExecutionFinished(execution);
@@ -63,9 +58,8 @@ public class TestEngineRecipeExecutor extends AbstractTestEngineExecutor impleme
 
     private TestEngineExecution doExecuteTestCase(TestRecipe testRecipe, ExtractorData optionalExtractorData, boolean async) {
         try {
-            Optional<ExtractorData> extractorDataOptional = Optional.ofNullable(optionalExtractorData);
-            extractorDataOptional.ifPresent(extractorData -> extractorDataList.add(extractorData));
             TestEngineExecution execution = testEngineClient.postTestRecipe(testRecipe, async);
+            execution.setExtractorData(optionalExtractorData);
             return execution;
         } catch (ApiException e) {
             notifyErrorOccurred(e);
@@ -0,0 +1,55 @@
+package com.smartbear.readyapi4j.testengine.execution;
+
+import com.sun.jersey.core.header.InBoundHeaders;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    public void retriesRateLimitedSubmissionAfterRetryAfter() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 16);
+        InBoundHeaders headers = new InBoundHeaders();
+        headers.putSingle("Retry-After", "1");
+        AtomicInteger attempts = new AtomicInteger();
+
+        long startTime = System.currentTimeMillis();
+        String result = limiter.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new UsageLimitException(429, "Too many requests", headers);
+            }
+            return "submitted";
+        });
+
+        assertThat(result, is("submitted"));
+        assertTrue(System.currentTimeMillis() - startTime >= 1000);
+        assertThat(limiter.getLimit(), is(4));
+        assertThat(limiter.getRateLimitedCount(), is(1L));
+        assertThat(limiter.getInFlight(), is(0));
+    }
+
+    @Test
+    public void growsLimitOnlyWhenWholeLimitIsUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 3).withLatencyTolerance(1000);
+
+        for (int c = 0; c < 5; c++) {
+            limiter.execute(() -> "submitted");
+        }
+
+        assertThat(limiter.getLimit(), is(2));
+    }
+
+    @Test(expected = UsageLimitException.class)
+    public void givesUpAfterMaxRetries() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 2).withMaxRetries(0);
+
+        limiter.execute(() -> {
+            throw new UsageLimitException(429, "Too many requests", null);
+        });
+    }
+}
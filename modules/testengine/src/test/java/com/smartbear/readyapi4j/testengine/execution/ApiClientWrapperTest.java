@@ -0,0 +1,167 @@
+package com.smartbear.readyapi4j.testengine.execution;
+
+import com.google.common.io.ByteStreams;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.sun.jersey.api.client.ClientHandlerException;
+import com.sun.jersey.api.client.ClientRequest;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.GenericType;
+import com.sun.jersey.api.client.TerminatingClientHandler;
+import com.sun.jersey.core.header.InBoundHeaders;
+import org.junit.Test;
+
+import javax.ws.rs.core.HttpHeaders;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ApiClientWrapperTest {
+    private static final String REPORT_JSON = "{\"testjobId\":\"1\",\"status\":\"FINISHED\"}";
+
+    private final ApiClientWrapper apiClientWrapper = new ApiClientWrapper();
+
+    @Test
+    public void deserializesReportFromResponseStream() throws Exception {
+        ClientResponse response = makeJsonResponse();
+
+        TestJobReport report = apiClientWrapper.deserialize(response, new GenericType<TestJobReport>() {
+        });
+
+        assertThat(report.getTestjobId(), is("1"));
+        assertThat(report.getStatus(), is(TestJobReport.StatusEnum.FINISHED));
+        verify(response, never()).getEntity(String.class);
+    }
+
+    @Test
+    public void readsBodyAsStringWhenDebugging() throws Exception {
+        ClientResponse response = makeJsonResponse();
+        when(response.getEntity(String.class)).thenReturn(REPORT_JSON);
+        apiClientWrapper.setDebugging(true);
+
+        TestJobReport report = apiClientWrapper.deserialize(response, new GenericType<TestJobReport>() {
+        });
+
+        assertThat(report.getTestjobId(), is("1"));
+        verify(response, never()).getEntityInputStream();
+    }
+
+    @Test
+    public void capsConcurrentAsynchronousRequests() throws Exception {
+        apiClientWrapper.setMaxConcurrentRequests(2);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxObserved = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int c = 0; c < 10; c++) {
+            futures.add(apiClientWrapper.supplyAsync(() -> {
+                maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return inFlight.decrementAndGet();
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        assertTrue(maxObserved.get() <= 2);
+        assertTrue(maxObserved.get() >= 1);
+    }
+
+    @Test
+    public void compressesOnlyBodiesAboveThreshold() throws Exception {
+        apiClientWrapper.setRequestCompressionThreshold(REPORT_JSON.length());
+
+        byte[] compressed = apiClientWrapper.compress(REPORT_JSON);
+        assertThat(apiClientWrapper.compress(REPORT_JSON.substring(1)), is(nullValue()));
+
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(ByteStreams.toByteArray(inputStream), StandardCharsets.UTF_8), is(REPORT_JSON));
+        }
+    }
+
+    @Test
+    public void sendsCompressedBodyOnceThroughFilterChain() throws Exception {
+        CapturingClientHandler clientHandler = new CapturingClientHandler();
+        apiClientWrapper.setClientHandler(clientHandler);
+        apiClientWrapper.setRequestCompressionThreshold(0);
+
+        TestJobReport report = apiClientWrapper.invokeAPI("/testjobs", "POST", new ArrayList<>(),
+                REPORT_JSON.getBytes(StandardCharsets.UTF_8), new HashMap<>(), "application/json",
+                "application/json", new String[0], new GenericType<TestJobReport>() {
+                });
+
+        assertThat(clientHandler.contentEncoding, is("gzip"));
+        assertThat(clientHandler.acceptEncoding, is("gzip"));
+        try (GZIPInputStream inputStream = new GZIPInputStream(
+                new ByteArrayInputStream(clientHandler.sentBytes.toByteArray()))) {
+            assertThat(new String(ByteStreams.toByteArray(inputStream), StandardCharsets.UTF_8), is(REPORT_JSON));
+        }
+        assertThat(report.getTestjobId(), is("1"));
+    }
+
+    @Test
+    public void doesNotCompressByDefault() throws Exception {
+        assertThat(apiClientWrapper.compress(REPORT_JSON), is(nullValue()));
+    }
+
+    /**
+     * Writes request entities the way a real handler does, through the adapters installed by the filters, and
+     * answers with a gzip encoded report
+     */
+    private static class CapturingClientHandler extends TerminatingClientHandler {
+        private final ByteArrayOutputStream sentBytes = new ByteArrayOutputStream();
+        private String contentEncoding;
+        private String acceptEncoding;
+
+        @Override
+        public ClientResponse handle(ClientRequest request) throws ClientHandlerException {
+            contentEncoding = (String) request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+            acceptEncoding = (String) request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+            ByteArrayOutputStream responseBody = new ByteArrayOutputStream();
+            try {
+                getRequestEntityWriter(request).writeRequestEntity(sentBytes);
+                try (GZIPOutputStream outputStream = new GZIPOutputStream(responseBody)) {
+                    outputStream.write(REPORT_JSON.getBytes(StandardCharsets.UTF_8));
+                }
+            } catch (IOException e) {
+                throw new ClientHandlerException(e);
+            }
+            InBoundHeaders headers = new InBoundHeaders();
+            headers.putSingle(HttpHeaders.CONTENT_TYPE, "application/json");
+            headers.putSingle(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return new ClientResponse(200, headers, new ByteArrayInputStream(responseBody.toByteArray()),
+                    getMessageBodyWorkers());
+        }
+    }
+
+    private ClientResponse makeJsonResponse() {
+        InBoundHeaders headers = new InBoundHeaders();
+        headers.putSingle("Content-Type", "application/json");
+        ClientResponse response = mock(ClientResponse.class);
+        when(response.getHeaders()).thenReturn(headers);
+        when(response.hasEntity()).thenReturn(true);
+        when(response.getEntityInputStream())
+                .thenReturn(new ByteArrayInputStream(REPORT_JSON.getBytes(StandardCharsets.UTF_8)));
+        return response;
+    }
+}
@@ -0,0 +1,54 @@
+package com.smartbear.readyapi4j.testengine.execution;
+
+import com.smartbear.readyapi4j.HttpBasicAuth;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class BasicAuthHeaderTest {
+
+    @Test
+    public void producesSameHeaderAsHttpBasicAuth() {
+        HttpBasicAuth auth = makeAuth("user", "päss");
+        Map<String, String> expectedHeaders = new HashMap<>();
+        auth.applyToParams(null, expectedHeaders);
+
+        Map<String, String> headers = new HashMap<>();
+        BasicAuthHeader.of(auth).applyToParams(null, headers);
+
+        assertThat(headers, is(expectedHeaders));
+    }
+
+    @Test
+    public void computesHeaderOnlyWhenCredentialsChange() {
+        HttpBasicAuth auth = makeAuth("user", "password");
+        BasicAuthHeader header = BasicAuthHeader.of(auth);
+
+        assertThat(BasicAuthHeader.of(auth), is(sameInstance(header)));
+
+        auth.setPassword("changed");
+        assertThat(BasicAuthHeader.of(auth).getValue(), is(not(header.getValue())));
+    }
+
+    @Test
+    public void addsNoHeaderWithoutCredentials() {
+        Map<String, String> headers = new HashMap<>();
+        BasicAuthHeader.of(new HttpBasicAuth()).applyToParams(null, headers);
+
+        assertThat(headers.get("Authorization"), is(nullValue()));
+    }
+
+    private static HttpBasicAuth makeAuth(String username, String password) {
+        HttpBasicAuth auth = new HttpBasicAuth();
+        auth.setUsername(username);
+        auth.setPassword(password);
+        return auth;
+    }
+}
@@ -0,0 +1,134 @@
+package com.smartbear.readyapi4j.testengine.execution;
+
+import com.google.common.io.ByteStreams;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CompositeProjectArchiverTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File projectDir;
+    private CompositeProjectArchiver archiver;
+
+    @Before
+    public void setUp() throws Exception {
+        projectDir = temporaryFolder.newFolder("project");
+        archiver = new CompositeProjectArchiver(temporaryFolder.newFolder("cache"), 1024 * 1024, 2,
+                Executors.newFixedThreadPool(2));
+    }
+
+    @Test
+    public void zipsAllFilesOfProject() throws Exception {
+        Map<String, String> contents = new HashMap<>();
+        for (int c = 0; c < 10; c++) {
+            String name = (c % 2 == 0 ? "/TestSuites/" : "/") + "file" + c + ".xml";
+            contents.put(name, new String(new char[c * 100]).replace('\0', 'x'));
+            writeFile(name, contents.get(name));
+        }
+
+        try (CompositeProjectArchiver.Archive archive = archiver.archive(projectDir);
+             ZipFile zipFile = new ZipFile(archive.getFile())) {
+            assertThat(zipFile.size(), is(contents.size()));
+            for (Map.Entry<String, String> content : contents.entrySet()) {
+                ZipEntry entry = zipFile.getEntry(content.getKey().replace('/', File.separatorChar));
+                assertThat(new String(ByteStreams.toByteArray(zipFile.getInputStream(entry)), UTF_8),
+                        is(content.getValue()));
+            }
+        }
+    }
+
+    @Test
+    public void deflatesLargeFilesStraightIntoArchive() throws Exception {
+        archiver = new CompositeProjectArchiver(temporaryFolder.newFolder("streamingCache"), 1024 * 1024, 2, 1000,
+                Executors.newFixedThreadPool(2));
+        Map<String, String> contents = new HashMap<>();
+        for (int c = 0; c < 6; c++) {
+            String name = "/file" + c + ".xml";
+            contents.put(name, new String(new char[c % 2 == 0 ? 100 : 100000]).replace('\0', (char) ('a' + c)));
+            writeFile(name, contents.get(name));
+        }
+
+        try (CompositeProjectArchiver.Archive archive = archiver.archive(projectDir);
+             ZipFile zipFile = new ZipFile(archive.getFile())) {
+            assertThat(zipFile.size(), is(contents.size()));
+            for (Map.Entry<String, String> content : contents.entrySet()) {
+                ZipEntry entry = zipFile.getEntry(content.getKey().replace('/', File.separatorChar));
+                assertThat(entry.getSize(), is((long) content.getValue().length()));
+                assertThat(new String(ByteStreams.toByteArray(zipFile.getInputStream(entry)), UTF_8),
+                        is(content.getValue()));
+            }
+        }
+    }
+
+    @Test
+    public void reusesArchiveOfUnchangedProject() throws Exception {
+        File projectFile = writeFile("/settings.xml", "<settings/>");
+        File archive = archiveAndClose(projectDir);
+
+        assertThat(archiveAndClose(projectDir), is(archive));
+
+        projectFile.setLastModified(projectFile.lastModified() - 10000);
+        File newArchive = archiveAndClose(projectDir);
+        assertThat(newArchive.equals(archive), is(false));
+        assertThat(archive.exists(), is(false));
+    }
+
+    @Test
+    public void keepsOutdatedArchiveUntilClosed() throws Exception {
+        File projectFile = writeFile("/settings.xml", "<settings/>");
+        CompositeProjectArchiver.Archive archive = archiver.archive(projectDir);
+
+        projectFile.setLastModified(projectFile.lastModified() - 10000);
+        archiveAndClose(projectDir);
+        assertThat(archive.getFile().exists(), is(true));
+
+        archive.close();
+        assertThat(archive.getFile().exists(), is(false));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedArchives() throws Exception {
+        writeFile("/settings.xml", "<settings/>");
+        long archiveSize = archiveAndClose(projectDir).length();
+        archiver = new CompositeProjectArchiver(temporaryFolder.newFolder("smallCache"), archiveSize * 2, 2,
+                Executors.newFixedThreadPool(2));
+
+        File firstArchive = archiveAndClose(projectDir);
+        for (int c = 0; c < 3; c++) {
+            projectDir = temporaryFolder.newFolder("project" + c);
+            writeFile("/settings.xml", "<settings/>");
+            archiveAndClose(projectDir);
+        }
+
+        assertThat(firstArchive.exists(), is(false));
+        assertThat(archiver.getCacheSize() <= archiveSize * 2, is(true));
+    }
+
+    private File archiveAndClose(File dir) throws Exception {
+        try (CompositeProjectArchiver.Archive archive = archiver.archive(dir)) {
+            return archive.getFile();
+        }
+    }
+
+    private File writeFile(String name, String content) throws Exception {
+        File file = new File(projectDir, name);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,130 @@
+package com.smartbear.readyapi4j.testengine.execution;
+
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ExecutionStatusPollerTest {
+
+    private ExecutionStatusPoller poller;
+
+    @After
+    public void shutdownPoller() {
+        if (poller != null) {
+            poller.shutdown();
+        }
+    }
+
+    @Test
+    public void pollsAllPendingExecutionsUntilFinished() throws Exception {
+        AtomicInteger requestCount = new AtomicInteger();
+        poller = new ExecutionStatusPoller(id -> requestCount.incrementAndGet() > 20 ?
+                ExecutionTestHelper.makeFinishedReport(id) : ExecutionTestHelper.makeRunningReport(id),
+                10, 20, 1.5, 2);
+
+        int executionCount = 10;
+        CountDownLatch finished = new CountDownLatch(executionCount);
+        for (int c = 0; c < executionCount; c++) {
+            poller.poll(makeExecution("execution_" + c), new CountingHandler(finished));
+        }
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertThat(poller.getPendingCount(), is(0));
+    }
+
+    @Test
+    public void capsConcurrentStatusRequests() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxObserved = new AtomicInteger();
+        poller = new ExecutionStatusPoller(id -> {
+            maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            return ExecutionTestHelper.makeFinishedReport(id);
+        }, 10, 10, 1, 3);
+
+        int executionCount = 20;
+        CountDownLatch finished = new CountDownLatch(executionCount);
+        for (int c = 0; c < executionCount; c++) {
+            poller.poll(makeExecution("execution_" + c), new CountingHandler(finished));
+        }
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertTrue(maxObserved.get() <= 3);
+    }
+
+    @Test
+    public void keepsPollingPendingExecutionsAfterReconfiguration() throws Exception {
+        AtomicInteger requestCount = new AtomicInteger();
+        poller = new ExecutionStatusPoller(id -> requestCount.incrementAndGet() > 5 ?
+                ExecutionTestHelper.makeFinishedReport(id) : ExecutionTestHelper.makeRunningReport(id),
+                10, 20, 1.5, 1);
+
+        CountDownLatch finished = new CountDownLatch(1);
+        poller.poll(makeExecution("execution"), new CountingHandler(finished));
+        poller.reconfigure(5, 10, 1, 4);
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertThat(poller.getPendingCount(), is(0));
+    }
+
+    @Test
+    public void stopsPollingAfterRepeatedErrors() throws Exception {
+        CountDownLatch failed = new CountDownLatch(1);
+        poller = new ExecutionStatusPoller(id -> {
+            throw new ApiException(500, "server error");
+        }, 10, 10, 1, 1);
+
+        poller.poll(makeExecution("execution"), new ExecutionStatusPoller.StatusHandler() {
+            @Override
+            public boolean statusReceived(TestJobReport report) {
+                return false;
+            }
+
+            @Override
+            public void pollingFailed(Exception e) {
+                failed.countDown();
+            }
+        });
+
+        assertTrue(failed.await(10, TimeUnit.SECONDS));
+        assertThat(poller.getPendingCount(), is(0));
+    }
+
+    private TestEngineExecution makeExecution(String id) {
+        return new TestEngineExecution(null, null, ExecutionTestHelper.makeRunningReport(id));
+    }
+
+    private static class CountingHandler implements ExecutionStatusPoller.StatusHandler {
+        private final CountDownLatch finished;
+
+        CountingHandler(CountDownLatch finished) {
+            this.finished = finished;
+        }
+
+        @Override
+        public boolean statusReceived(TestJobReport report) {
+            if (report.getStatus() == TestJobReport.StatusEnum.FINISHED) {
+                finished.countDown();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void pollingFailed(Exception e) {
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.smartbear.readyapi4j.testengine.execution;
 
+import com.smartbear.readyapi4j.client.model.TestCaseResultReport;
 import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.client.model.TestStepResultReport;
+import com.smartbear.readyapi4j.client.model.TestSuiteResultReport;
 import com.smartbear.readyapi4j.execution.Execution;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -28,6 +35,22 @@ public class ExecutionTestHelper {
         return report;
     }
 
+    public static TestJobReport withTestSteps(TestJobReport report, String... testStepNames) {
+        List<TestStepResultReport> testStepResultReports = new ArrayList<>();
+        for (String testStepName : testStepNames) {
+            TestStepResultReport testStepResultReport = new TestStepResultReport();
+            testStepResultReport.setTestStepName(testStepName);
+            testStepResultReport.setAssertionStatus(TestStepResultReport.AssertionStatusEnum.PASS);
+            testStepResultReports.add(testStepResultReport);
+        }
+        TestCaseResultReport testCaseResultReport = new TestCaseResultReport();
+        testCaseResultReport.setTestStepResultReports(testStepResultReports);
+        TestSuiteResultReport testSuiteResultReport = new TestSuiteResultReport();
+        testSuiteResultReport.setTestCaseResultReports(Collections.singletonList(testCaseResultReport));
+        report.setTestSuiteResultReports(Collections.singletonList(testSuiteResultReport));
+        return report;
+    }
+
     public static TestJobReport makeCancelledReport(String executionID) {
         TestJobReport startReport = new TestJobReport();
         startReport.setTestjobId(executionID);
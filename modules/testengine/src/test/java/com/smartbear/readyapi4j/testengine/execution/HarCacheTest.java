@@ -0,0 +1,93 @@
+package com.smartbear.readyapi4j.testengine.execution;
+
+import com.smartbear.readyapi4j.client.model.HarEntry;
+import com.smartbear.readyapi4j.client.model.HarLogRoot;
+import io.swagger.util.Json;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class HarCacheTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private HarEntry harEntry;
+
+    @Before
+    public void setUp() throws Exception {
+        HarLogRoot harLogRoot = Json.mapper().readValue(
+                new FileInputStream("src/test/resources/single-entry-har-log.json"), HarLogRoot.class);
+        harEntry = harLogRoot.getLog().getEntries().get(0);
+    }
+
+    @Test
+    public void readsEntriesCachedByEarlierInstance() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        HarCache harCache = new HarCache(directory, 1024 * 1024);
+        harCache.put("execution/1", "1", harEntry);
+        harCache.put("execution/1", "2", harEntry);
+
+        HarCache reopenedCache = new HarCache(directory, 1024 * 1024);
+
+        assertThat(reopenedCache.getSizeInBytes(), is(harCache.getSizeInBytes()));
+        HarEntry cachedEntry = reopenedCache.get("execution/1", "2");
+        assertThat(cachedEntry, is(notNullValue()));
+        assertThat(cachedEntry.getRequest().getUrl(), is(harEntry.getRequest().getUrl()));
+        assertThat(reopenedCache.get("execution/1", "3"), is(nullValue()));
+        assertThat(reopenedCache.get("execution/2", "1"), is(nullValue()));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedExecutions() throws Exception {
+        HarCache harCache = new HarCache(temporaryFolder.newFolder(), 1024 * 1024);
+        harCache.put("1", "1", harEntry);
+        long entrySize = harCache.getSizeInBytes();
+        harCache = new HarCache(temporaryFolder.newFolder(), entrySize * 2);
+
+        harCache.put("1", "1", harEntry);
+        harCache.put("2", "1", harEntry);
+        harCache.get("1", "1");
+        harCache.put("3", "1", harEntry);
+
+        assertThat(harCache.getExecutionCount(), is(2));
+        assertThat(harCache.get("1", "1"), is(notNullValue()));
+        assertThat(harCache.get("2", "1"), is(nullValue()));
+        assertThat(harCache.get("3", "1"), is(notNullValue()));
+    }
+
+    @Test
+    public void cachesEntriesWrittenConcurrently() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        HarCache harCache = new HarCache(directory, 1024 * 1024);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        for (int c = 0; c < 100; c++) {
+            String transactionId = String.valueOf(c);
+            threads.execute(() -> harCache.put("execution_" + transactionId.length(), transactionId, harEntry));
+        }
+        threads.shutdown();
+        assertTrue(threads.awaitTermination(10, TimeUnit.SECONDS));
+
+        HarCache reopenedCache = new HarCache(directory, 1024 * 1024);
+
+        assertThat(reopenedCache.getSizeInBytes(), is(harCache.getSizeInBytes()));
+        for (int c = 0; c < 100; c++) {
+            String transactionId = String.valueOf(c);
+            HarEntry cachedEntry = reopenedCache.get("execution_" + transactionId.length(), transactionId);
+            assertThat(cachedEntry, is(notNullValue()));
+            assertThat(cachedEntry.getRequest().getUrl(), is(harEntry.getRequest().getUrl()));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.smartbear.readyapi4j.testengine.execution;
 import com.smartbear.readyapi4j.HttpBasicAuth;
 import com.smartbear.readyapi4j.client.model.HarLogRoot;
 import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.client.model.TestStepResultReport;
 import com.smartbear.readyapi4j.execution.Execution;
 import com.smartbear.readyapi4j.result.RecipeExecutionResult;
 import io.swagger.util.Json;
@@ -11,6 +12,8 @@ import org.mockito.Matchers;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static com.smartbear.readyapi4j.client.model.TestStepResultReport.AssertionStatusEnum.FAIL;
 import static com.smartbear.readyapi4j.client.model.TestStepResultReport.AssertionStatusEnum.PASS;
@@ -18,6 +21,8 @@ import static junit.framework.TestCase.assertTrue;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -59,4 +64,113 @@ public class ProjectExecutionResultTestCase {
         assertNotNull(result.getTestStepResult(0).getHarEntry().getResponse());
         assertEquals("Test response", result.getTestStepResult(0).getResponseContent());
     }
+
+    @Test
+    public void prefetchesEachTransactionLogOnce() throws Exception {
+        TestJobReport resultReport =
+                Json.mapper().readValue(new FileInputStream("src/test/resources/testjob-report.json"),
+                        TestJobReport.class);
+        HarLogRoot harLogRoot =
+                Json.mapper().readValue(new FileInputStream("src/test/resources/single-entry-har-log.json"),
+                        HarLogRoot.class);
+        TestEngineApi apiMock = mock(TestEngineApi.class);
+        when(apiMock.getTransactionLog(Matchers.anyString(), Matchers.anyString(), (HttpBasicAuth) Matchers.any())).thenReturn(harLogRoot);
+
+        TestEngineExecution execution = new TestEngineExecution(apiMock, new HttpBasicAuth(), resultReport);
+        execution.prefetchTransactionLogs(2);
+        execution.prefetchTransactionLogs(2);
+        RecipeExecutionResult result = execution.getExecutionResult();
+        for (int c = 0; c < result.getResultCount(); c++) {
+            assertNotNull(result.getTestStepResult(c).getHarEntry());
+        }
+
+        verify(apiMock, times(3)).getTransactionLog(Matchers.anyString(), Matchers.anyString(), (HttpBasicAuth) Matchers.any());
+    }
+
+    @Test
+    public void keepsPrefetchedLogsOfMoreTransactionsThanRetainedOtherwise() throws Exception {
+        int stepCount = TestEngineExecution.MAX_RETAINED_HAR_ENTRIES * 2;
+        String[] testStepNames = new String[stepCount];
+        for (int c = 0; c < stepCount; c++) {
+            testStepNames[c] = "step " + c;
+        }
+        TestJobReport resultReport = ExecutionTestHelper.withTestSteps(ExecutionTestHelper.makeFinishedReport("1"),
+                testStepNames);
+        int transactionCount = 0;
+        for (TestStepResultReport testStepResultReport : resultReport.getTestSuiteResultReports().get(0)
+                .getTestCaseResultReports().get(0).getTestStepResultReports()) {
+            testStepResultReport.setTransactionId(String.valueOf(transactionCount++));
+        }
+        HarLogRoot harLogRoot =
+                Json.mapper().readValue(new FileInputStream("src/test/resources/single-entry-har-log.json"),
+                        HarLogRoot.class);
+        TestEngineApi apiMock = mock(TestEngineApi.class);
+        when(apiMock.getTransactionLog(Matchers.anyString(), Matchers.anyString(), (HttpBasicAuth) Matchers.any())).thenReturn(harLogRoot);
+
+        TestEngineExecution execution = new TestEngineExecution(apiMock, new HttpBasicAuth(), resultReport);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            execution.prefetchTransactionLogs(4, executor);
+        } finally {
+            executor.shutdown();
+        }
+        RecipeExecutionResult result = execution.getExecutionResult();
+        for (int c = 0; c < result.getResultCount(); c++) {
+            assertNotNull(result.getTestStepResult(c).getHarEntry());
+        }
+
+        verify(apiMock, times(stepCount)).getTransactionLog(Matchers.anyString(), Matchers.anyString(), (HttpBasicAuth) Matchers.any());
+    }
+
+    @Test
+    public void fetchesTransactionLogAgainAfterTransientError() throws Exception {
+        TestJobReport resultReport =
+                Json.mapper().readValue(new FileInputStream("src/test/resources/testjob-report.json"),
+                        TestJobReport.class);
+        HarLogRoot harLogRoot =
+                Json.mapper().readValue(new FileInputStream("src/test/resources/single-entry-har-log.json"),
+                        HarLogRoot.class);
+        TestEngineApi apiMock = mock(TestEngineApi.class);
+        when(apiMock.getTransactionLog(Matchers.anyString(), Matchers.anyString(), (HttpBasicAuth) Matchers.any()))
+                .thenThrow(new ApiException(503, "unavailable"))
+                .thenReturn(harLogRoot);
+
+        RecipeExecutionResult result = new TestEngineExecution(apiMock, new HttpBasicAuth(), resultReport)
+                .getExecutionResult();
+
+        assertNull(result.getTestStepResult(0).getHarEntry());
+        assertNotNull(result.getTestStepResult(0).getHarEntry());
+    }
+
+    @Test
+    public void remembersMissingTransactionLog() throws Exception {
+        TestJobReport resultReport =
+                Json.mapper().readValue(new FileInputStream("src/test/resources/testjob-report.json"),
+                        TestJobReport.class);
+        TestEngineApi apiMock = mock(TestEngineApi.class);
+        when(apiMock.getTransactionLog(Matchers.anyString(), Matchers.anyString(), (HttpBasicAuth) Matchers.any()))
+                .thenThrow(new ApiException(404, "not found"));
+
+        RecipeExecutionResult result = new TestEngineExecution(apiMock, new HttpBasicAuth(), resultReport)
+                .getExecutionResult();
+
+        assertNull(result.getTestStepResult(0).getHarEntry());
+        assertNull(result.getTestStepResult(0).getHarEntry());
+        verify(apiMock, times(1)).getTransactionLog(Matchers.anyString(), Matchers.anyString(), (HttpBasicAuth) Matchers.any());
+    }
+
+    @Test
+    public void keepsOnlyConfiguredNumberOfEarlierReports() {
+        TestEngineExecution execution = new TestEngineExecution(mock(TestEngineApi.class), new HttpBasicAuth(),
+                ExecutionTestHelper.makeRunningReport("1"), null, 2);
+        for (int c = 0; c < 5; c++) {
+            execution.addResultReport(ExecutionTestHelper.makeRunningReport("1"));
+        }
+        TestJobReport finishedReport = ExecutionTestHelper.makeFinishedReport("1");
+        execution.addResultReport(finishedReport);
+
+        assertThat(execution.getCurrentReport(), is(finishedReport));
+        assertEquals(2, execution.getReportHistory().size());
+        assertTrue(new TestEngineExecution(null, null, finishedReport).getReportHistory().isEmpty());
+    }
 }
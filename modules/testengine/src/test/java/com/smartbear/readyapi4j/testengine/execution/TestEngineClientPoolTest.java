@@ -0,0 +1,135 @@
+package com.smartbear.readyapi4j.testengine.execution;
+
+import com.smartbear.readyapi4j.HttpBasicAuth;
+import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.client.model.TestCase;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.execution.ExecutionListener;
+import com.smartbear.readyapi4j.execution.RecipeExecutor;
+import com.smartbear.readyapi4j.extractor.ExtractorData;
+import com.sun.jersey.core.header.InBoundHeaders;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestEngineClientPoolTest {
+    private final TestRecipe recipe = new TestRecipe(new TestCase(), new ExtractorData());
+    private TestEngineApi firstApi;
+    private TestEngineApi secondApi;
+    private TestEngineClientPool pool;
+
+    @Before
+    public void setUp() {
+        firstApi = mock(TestEngineApi.class);
+        secondApi = mock(TestEngineApi.class);
+        pool = new TestEngineClientPool(
+                new TestEngineClient(Scheme.HTTP, "first", 8080, ServerDefaults.VERSION_PREFIX, firstApi),
+                new TestEngineClient(Scheme.HTTP, "second", 8080, ServerDefaults.VERSION_PREFIX, secondApi));
+    }
+
+    @Test
+    public void sendsExecutionsToLeastLoadedNode() {
+        when(firstApi.postTestRecipe(eq(recipe), anyBoolean(), any(HttpBasicAuth.class)))
+                .thenReturn(ExecutionTestHelper.makeRunningReport("1"));
+        when(secondApi.postTestRecipe(eq(recipe), anyBoolean(), any(HttpBasicAuth.class)))
+                .thenReturn(ExecutionTestHelper.makeRunningReport("2"));
+
+        pool.postTestRecipe(recipe, true);
+        pool.postTestRecipe(recipe, true);
+
+        assertThat(pool.getRunningExecutionCounts(), is(Arrays.asList(1, 1)));
+    }
+
+    @Test
+    public void pinsStatusRequestsToOwningNode() {
+        when(firstApi.postTestRecipe(eq(recipe), anyBoolean(), any(HttpBasicAuth.class)))
+                .thenReturn(ExecutionTestHelper.makeRunningReport("1"));
+        when(firstApi.getExecutionStatus(eq("1"), any(HttpBasicAuth.class)))
+                .thenReturn(ExecutionTestHelper.makeFinishedReport("1"));
+
+        TestEngineExecution execution = pool.postTestRecipe(recipe, true);
+        execution.addResultReport(pool.getExecutionStatus(execution.getId()));
+        execution.complete();
+
+        verify(secondApi, never()).getExecutionStatus(any(String.class), any(HttpBasicAuth.class));
+        assertThat(pool.getRunningExecutionCounts(), is(Arrays.asList(0, 0)));
+    }
+
+    @Test
+    public void releasesNodeWhenPollingFails() throws Exception {
+        when(firstApi.postTestRecipe(eq(recipe), anyBoolean(), any(HttpBasicAuth.class)))
+                .thenReturn(ExecutionTestHelper.makeRunningReport("1"));
+        when(firstApi.getExecutionStatus(eq("1"), any(HttpBasicAuth.class)))
+                .thenThrow(new ApiException(500, "server error"));
+        pool.withStatusPolling(10, 10, 1);
+
+        TestEngineExecution execution = pool.createRecipeExecutor().submitRecipe(recipe);
+        try {
+            execution.completion().get(10, TimeUnit.SECONDS);
+            fail("Expected polling to fail");
+        } catch (ExecutionException e) {
+            // the slot is released by another dependent of the completion, which may run after get() has returned
+            long deadline = System.currentTimeMillis() + 10000;
+            while (pool.getRunningExecutionCounts().get(0) > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(pool.getRunningExecutionCounts(), is(Arrays.asList(0, 0)));
+        }
+    }
+
+    @Test
+    public void pollsExecutionsThatWereNotRunningWhenSubmitted() throws Exception {
+        when(firstApi.postTestRecipe(eq(recipe), anyBoolean(), any(HttpBasicAuth.class)))
+                .thenReturn(ExecutionTestHelper.makeFinishedReport("1"));
+        when(firstApi.getExecutionStatus(eq("1"), any(HttpBasicAuth.class)))
+                .thenReturn(ExecutionTestHelper.makeFinishedReport("1"));
+        pool.withStatusPolling(10, 10, 1);
+        ExecutionListener executionListener = mock(ExecutionListener.class);
+        RecipeExecutor recipeExecutor = pool.createRecipeExecutor();
+        recipeExecutor.addExecutionListener(executionListener);
+
+        Execution execution = recipeExecutor.submitRecipe(recipe);
+        execution.completion().get(10, TimeUnit.SECONDS);
+
+        verify(executionListener).executionFinished(execution);
+        long deadline = System.currentTimeMillis() + 10000;
+        while (pool.getRunningExecutionCounts().get(0) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(pool.getRunningExecutionCounts(), is(Arrays.asList(0, 0)));
+    }
+
+    @Test
+    public void takesNodeOutOfRotationWhenRateLimited() {
+        InBoundHeaders headers = new InBoundHeaders();
+        headers.putSingle("Retry-After", "60");
+        when(firstApi.postTestRecipe(eq(recipe), anyBoolean(), any(HttpBasicAuth.class)))
+                .thenThrow(new UsageLimitException(429, "Too many requests", headers));
+        when(secondApi.postTestRecipe(eq(recipe), anyBoolean(), any(HttpBasicAuth.class)))
+                .thenReturn(ExecutionTestHelper.makeFinishedReport("2"));
+
+        try {
+            pool.postTestRecipe(recipe, false);
+            fail("Expected the rate limit to be reported");
+        } catch (UsageLimitException e) {
+            assertThat(pool.getHealthyNodeCount(), is(1));
+        }
+        for (int c = 0; c < 3; c++) {
+            assertThat(pool.postTestRecipe(recipe, false).getId(), is("2"));
+        }
+    }
+}
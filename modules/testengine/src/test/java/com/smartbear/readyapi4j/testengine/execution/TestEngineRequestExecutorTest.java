@@ -3,16 +3,32 @@ package com.smartbear.readyapi4j.testengine.execution;
 import com.smartbear.readyapi4j.HttpBasicAuth;
 import com.smartbear.readyapi4j.TestRecipe;
 import com.smartbear.readyapi4j.client.model.TestCase;
+import com.smartbear.readyapi4j.client.model.TestCaseResultReport;
 import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.client.model.TestSuiteResultReport;
 import com.smartbear.readyapi4j.execution.Execution;
 import com.smartbear.readyapi4j.execution.ExecutionListener;
 import com.smartbear.readyapi4j.extractor.ExtractorData;
+import com.smartbear.readyapi4j.result.RecipeExecutionResult;
+import com.smartbear.readyapi4j.result.TestStepResult;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentMatcher;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 
@@ -76,6 +92,118 @@ public class TestEngineRequestExecutorTest extends ProjectExecutionTestBase {
         }));
     }
 
+    @Test
+    public void completesFutureWhenAsynchronousExecutionFinishes() throws Exception {
+        String executionID = "the_id";
+        TestJobReport startReport = ExecutionTestHelper.makeRunningReport(executionID);
+        TestJobReport endReport = ExecutionTestHelper.makeFinishedReport(executionID);
+        when(apiWrapper.postTestRecipe(eq(recipeToSubmit), eq(true), any(HttpBasicAuth.class))).thenReturn(startReport);
+        when(apiWrapper.getExecutionStatus(eq(executionID), any(HttpBasicAuth.class))).thenReturn(endReport);
+
+        Execution execution = recipeExecutor.submitRecipe(recipeToSubmit);
+        assertThat(execution.completion().isDone(), is(false));
+        RecipeExecutionResult result = execution.completion().get(5, TimeUnit.SECONDS);
+        assertThat(result.getStatus(), is(TestJobReport.StatusEnum.FINISHED));
+    }
+
+    @Test
+    public void keepsPollingPendingExecutionsWhenPollingIsReconfigured() throws Exception {
+        String executionID = "the_id";
+        TestJobReport startReport = ExecutionTestHelper.makeRunningReport(executionID);
+        when(apiWrapper.postTestRecipe(eq(recipeToSubmit), eq(true), any(HttpBasicAuth.class))).thenReturn(startReport);
+        when(apiWrapper.getExecutionStatus(eq(executionID), any(HttpBasicAuth.class))).thenReturn(
+                ExecutionTestHelper.makeRunningReport(executionID), ExecutionTestHelper.makeFinishedReport(executionID));
+
+        Execution execution = recipeExecutor.submitRecipe(recipeToSubmit);
+        testEngineClient.withStatusPolling(10, 20, 2);
+
+        RecipeExecutionResult result = execution.completion().get(5, TimeUnit.SECONDS);
+        assertThat(result.getStatus(), is(TestJobReport.StatusEnum.FINISHED));
+        assertThat(testEngineClient.getStatusPoller().getPendingCount(), is(0));
+    }
+
+    @Test
+    public void notifiesListenerOfEachFinishedTestStep() throws Exception {
+        String executionID = "the_id";
+        TestJobReport startReport = ExecutionTestHelper.makeRunningReport(executionID);
+        TestJobReport progressReport = ExecutionTestHelper.withTestSteps(
+                ExecutionTestHelper.makeRunningReport(executionID), "first");
+        TestJobReport endReport = ExecutionTestHelper.withTestSteps(
+                ExecutionTestHelper.makeFinishedReport(executionID), "first", "second");
+        when(apiWrapper.postTestRecipe(eq(recipeToSubmit), eq(true), any(HttpBasicAuth.class))).thenReturn(startReport);
+        when(apiWrapper.getExecutionStatus(eq(executionID), any(HttpBasicAuth.class))).thenReturn(progressReport, endReport);
+        ExecutionListener executionListener = mock(ExecutionListener.class);
+
+        recipeExecutor.addExecutionListener(executionListener);
+        recipeExecutor.submitRecipe(recipeToSubmit).completion().get(5, TimeUnit.SECONDS);
+        verify(executionListener, times(2)).testStepFinished(any(Execution.class), any(TestStepResult.class));
+        verify(executionListener).testStepFinished(any(Execution.class), argThat(new ArgumentMatcher<TestStepResult>() {
+            @Override
+            public boolean matches(Object o) {
+                return ((TestStepResult) o).getTestStepName().equals("second");
+            }
+        }));
+    }
+
+    @Test
+    public void runsAndForgetsExtractorsOfFinishedExecution() throws Exception {
+        ExtractorData extractorData = recipeToSubmit.getExtractorData();
+        AtomicReference<String> extractedValue = new AtomicReference<>();
+        String extractorId = extractorData.addExtractorOperator("Token", extractedValue::set);
+        TestJobReport report = ExecutionTestHelper.makeFinishedReport("execution_ID");
+        Map<String, String> properties = new HashMap<>();
+        properties.put(ExtractorData.EXTRACTOR_DATA_KEY, extractorData.getExtractorDataId());
+        properties.put(extractorId, "the_token");
+        report.setTestSuiteResultReports(Collections.singletonList(new TestSuiteResultReport()
+                .testCaseResultReports(Collections.singletonList(new TestCaseResultReport().properties(properties)))));
+        when(apiWrapper.postTestRecipe(eq(recipeToSubmit), eq(false), any(HttpBasicAuth.class))).thenReturn(report);
+
+        TestEngineExecution execution = recipeExecutor.executeRecipe(recipeToSubmit);
+
+        assertThat(extractedValue.get(), is("the_token"));
+        assertThat(properties.isEmpty(), is(true));
+        assertThat(execution.takeExtractorData(), is(nullValue()));
+    }
+
+    @Test
+    public void runsExtractorsOfEachConcurrentExecutionOfRecipe() throws Exception {
+        ExtractorData extractorData = recipeToSubmit.getExtractorData();
+        List<String> extractedValues = new CopyOnWriteArrayList<>();
+        String extractorId = extractorData.addExtractorOperator("Token", extractedValues::add);
+        when(apiWrapper.postTestRecipe(eq(recipeToSubmit), eq(true), any(HttpBasicAuth.class)))
+                .thenReturn(ExecutionTestHelper.makeRunningReport("first"))
+                .thenThrow(new ApiException(500, "server error"))
+                .thenReturn(ExecutionTestHelper.makeRunningReport("second"));
+        for (String executionId : Arrays.asList("first", "second")) {
+            when(apiWrapper.getExecutionStatus(eq(executionId), any(HttpBasicAuth.class)))
+                    .thenReturn(makeFinishedReportWithExtractedValue(executionId, extractorData, extractorId));
+        }
+
+        TestEngineExecution firstExecution = recipeExecutor.submitRecipe(recipeToSubmit);
+        try {
+            recipeExecutor.submitRecipe(recipeToSubmit);
+            fail("Expected the submission to fail");
+        } catch (ApiException e) {
+            // the failed submission must not affect the executions that are in flight
+        }
+        TestEngineExecution secondExecution = recipeExecutor.submitRecipe(recipeToSubmit);
+        firstExecution.completion().get(5, TimeUnit.SECONDS);
+        secondExecution.completion().get(5, TimeUnit.SECONDS);
+
+        assertThat(new HashSet<>(extractedValues), is(new HashSet<>(Arrays.asList("token_first", "token_second"))));
+    }
+
+    private static TestJobReport makeFinishedReportWithExtractedValue(String executionId, ExtractorData extractorData,
+                                                                      String extractorId) {
+        TestJobReport report = ExecutionTestHelper.makeFinishedReport(executionId);
+        Map<String, String> properties = new HashMap<>();
+        properties.put(ExtractorData.EXTRACTOR_DATA_KEY, extractorData.getExtractorDataId());
+        properties.put(extractorId, "token_" + executionId);
+        report.setTestSuiteResultReports(Collections.singletonList(new TestSuiteResultReport()
+                .testCaseResultReports(Collections.singletonList(new TestCaseResultReport().properties(properties)))));
+        return report;
+    }
+
     @Test
     public void executesRecipeSynchronously() throws Exception {
         TestJobReport report = ExecutionTestHelper.makeFinishedReport("execution_ID");
@@ -83,6 +211,7 @@ public class TestEngineRequestExecutorTest extends ProjectExecutionTestBase {
 
         Execution execution = recipeExecutor.executeRecipe(recipeToSubmit);
         assertThat(execution.getCurrentReport(), is(report));
+        assertThat(execution.completion().isDone(), is(true));
     }
 
     @Test
@@ -1,6 +1,7 @@
 package com.smartbear.readyapi4j.testengine.teststeps.datasource.datagen;
 
 import com.smartbear.readyapi4j.ApiException;
+import com.smartbear.readyapi4j.Authentication;
 import com.smartbear.readyapi4j.TestRecipe;
 import com.smartbear.readyapi4j.client.model.*;
 import com.smartbear.readyapi4j.execution.Execution;
@@ -156,12 +157,12 @@ public class DataSourceTestStepRecipeTest {
         Execution execution = testEngineClient.createRecipeExecutor().executeRecipe(recipe);
 
         verify(apiClientWrapper, times(1)).invokeAPI(eq(EXECUTIONS_BASE_PATH), anyString(), anyList(), anyObject(),
-                anyMap(), anyString(), eq("application/json"), any(String[].class), any(GenericType.class));
+                anyMap(), anyString(), eq("application/json"), any(Authentication.class), any(GenericType.class));
 
         ArgumentCaptor<Map> formDataArgumentCaptor = ArgumentCaptor.forClass(Map.class);
         verify(apiClientWrapper, times(1)).invokeAPI(eq(EXECUTIONS_BASE_PATH + "/" + execution.getId() + "/files"),
                 anyString(), anyList(), anyObject(), formDataArgumentCaptor.capture(), anyString(),
-                eq("multipart/form-data"), any(String[].class), any(GenericType.class));
+                eq("multipart/form-data"), any(Authentication.class), any(GenericType.class));
 
         Iterator iterator = formDataArgumentCaptor.getValue().entrySet().iterator();
         Map.Entry<String, File> dataSourceFile = (Map.Entry<String, File>) iterator.next();
@@ -177,7 +178,7 @@ public class DataSourceTestStepRecipeTest {
         TestJobReport projectResultReport = new TestJobReport();
         projectResultReport.setTestjobId("exec_id");
         projectResultReport.setStatus(TestJobReport.StatusEnum.RUNNING);
-        when(apiClientWrapper.invokeAPI(anyString(), anyString(), anyList(), anyObject(), anyMap(), anyString(), anyString(), any(String[].class), any(GenericType.class))).thenReturn(projectResultReport);
+        when(apiClientWrapper.invokeAPI(anyString(), anyString(), anyList(), anyObject(), anyMap(), anyString(), anyString(), any(Authentication.class), any(GenericType.class))).thenReturn(projectResultReport);
 
         return apiClientWrapper;
     }